@@ -0,0 +1,161 @@
+package AlgoAssignment2.bench;
+
+import AlgoAssignment2.BfsMode;
+import AlgoAssignment2.BfsQueryEngine;
+import AlgoAssignment2.CsrGraph;
+import AlgoAssignment2.EdgeListLoader;
+import AlgoAssignment2.NonDirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 图算法的JMH基准测试: 建图, 单源最短路径, 点到点最短路径
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GraphBenchmarks {
+
+    private static final int AVERAGE_DEGREE = 8;
+
+    /**
+     * Graphs small enough for an adjacency matrix, to compare NonDirectedGraph with CsrGraph.
+     */
+    @State(Scope.Benchmark)
+    public static class MatrixInput {
+        @Param({"RANDOM", "GRID", "POWER_LAW"})
+        SyntheticGraphs.Shape shape;
+        @Param({"256", "2048"})
+        int vertexCount;
+
+        int[][] matrix;
+        NonDirectedGraph nonDirectedGraph;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            matrix = SyntheticGraphs.generate(shape, vertexCount, AVERAGE_DEGREE, 42).toAdjacencyMatrix();
+            nonDirectedGraph = new NonDirectedGraph(matrix, "0");
+        }
+    }
+
+    /**
+     * Sparse graphs given as edges, in memory and in an "id,from,to" file.
+     */
+    @State(Scope.Benchmark)
+    public static class EdgeInput {
+        @Param({"RANDOM", "GRID", "POWER_LAW"})
+        SyntheticGraphs.Shape shape;
+        @Param({"10000", "1000000"})
+        int vertexCount;
+
+        String edgeList;
+        Path edgeFile;
+        CsrGraph graph;
+        BfsQueryEngine engine;
+        int[] queryTargets;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            SyntheticGraphs graphs = SyntheticGraphs.generate(shape, vertexCount, AVERAGE_DEGREE, 42);
+            edgeList = graphs.toEdgeList();
+            edgeFile = graphs.writeEdgeFile();
+            graph = graphs.toCsr();
+            engine = new BfsQueryEngine(graph);
+            Random random = new Random(7);
+            queryTargets = new int[1024];
+            for (int i = 0; i < queryTargets.length; i++) {
+                queryTargets[i] = random.nextInt(graph.vertexCount());
+            }
+        }
+
+        int nextTarget() {
+            return queryTargets[next++ & (queryTargets.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public NonDirectedGraph buildNonDirectedGraphFromMatrix(MatrixInput input) {
+        return new NonDirectedGraph(input.matrix, "0");
+    }
+
+    @Benchmark
+    public CsrGraph buildCsrFromMatrix(MatrixInput input) {
+        return CsrGraph.fromAdjacencyMatrix(input.matrix);
+    }
+
+    @Benchmark
+    public int nonDirectedGraphShortestPath(MatrixInput input) {
+        input.nonDirectedGraph.unweightedShortestPath();
+        return input.nonDirectedGraph.findShortestPath(String.valueOf(input.vertexCount / 2));
+    }
+
+    @Benchmark
+    public CsrGraph buildCsrFromEdgeList(EdgeInput input) {
+        return CsrGraph.fromEdgeList(input.edgeList);
+    }
+
+    @Benchmark
+    public CsrGraph loadCsrFromEdgeFile(EdgeInput input) throws IOException {
+        return EdgeListLoader.load(input.edgeFile);
+    }
+
+    @Benchmark
+    public int[] unweightedShortestPathSerial(EdgeInput input) {
+        return input.graph.unweightedShortestPath(0, BfsMode.SERIAL);
+    }
+
+    @Benchmark
+    public int[] unweightedShortestPathParallel(EdgeInput input) {
+        return input.graph.unweightedShortestPath(0, BfsMode.PARALLEL);
+    }
+
+    @Benchmark
+    public int[] unweightedShortestPathDirectionOptimizing(EdgeInput input) {
+        return input.graph.unweightedShortestPath(0, BfsMode.DIRECTION_OPTIMIZING);
+    }
+
+    @Benchmark
+    public int findShortestPath(EdgeInput input) {
+        return input.graph.findShortestPath(0, input.nextTarget());
+    }
+
+    @Benchmark
+    public int findShortestPathReusingBuffers(EdgeInput input) {
+        return input.engine.distance(0, input.nextTarget());
+    }
+
+    /**
+     * Run every benchmark with the GC profiler, which adds the allocation rate and GC counts to the report.
+     * Any arguments are passed on as a benchmark name filter.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : GraphBenchmarks.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,102 @@
+package AlgoAssignment2.bench;
+
+import AlgoAssignment2.CsrGraph;
+import AlgoAssignment2.EdgeSource;
+import AlgoAssignment2.GraphGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * 基准测试使用的合成图, 由GraphGenerator生成并以边数组的形式给出
+ */
+public class SyntheticGraphs {
+
+    public enum Shape {
+        RANDOM,// Erdős–Rényi, uniformly random end points
+        GRID,// Square 2D grid
+        POWER_LAW// Barabási–Albert preferential attachment, a few vertices with very high degree
+    }
+
+    final int vertexCount;
+    final int[] from;
+    final int[] to;
+    final int edgeCount;
+
+    private SyntheticGraphs(int vertexCount, int[] from, int[] to, int edgeCount) {
+        this.vertexCount = vertexCount;
+        this.from = from;
+        this.to = to;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * @param shape the shape of the graph
+     * @param vertexCount the number of vertices, rounded down to a square for grids
+     * @param averageDegree the average degree of the random and power law graphs
+     * @param seed the random seed
+     */
+    static SyntheticGraphs generate(Shape shape, int vertexCount, int averageDegree, long seed) {
+        EdgeSource source;
+        switch (shape) {
+            case GRID:
+                int side = (int) Math.sqrt(vertexCount);
+                source = GraphGenerator.grid(side, side);
+                break;
+            case POWER_LAW:
+                source = GraphGenerator.barabasiAlbert(vertexCount, Math.max(1, averageDegree / 2), seed);
+                break;
+            default:
+                source = GraphGenerator.erdosRenyi(vertexCount, (long) vertexCount * averageDegree / 2, seed);
+        }
+        int m = (int) source.edgeCount();
+        int[] from = new int[m], to = new int[m];
+        int[] e = {0};
+        try {
+            source.forEachEdge((u, v) -> {
+                from[e[0]] = u;
+                to[e[0]++] = v;
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new SyntheticGraphs(source.vertexCount(), from, to, m);
+    }
+
+    CsrGraph toCsr() {
+        return CsrGraph.fromEdges(vertexCount, from, to, edgeCount);
+    }
+
+    int[][] toAdjacencyMatrix() {
+        int[][] matrix = new int[vertexCount][vertexCount];
+        for (int e = 0; e < edgeCount; e++) {
+            if (from[e] != to[e]) {
+                matrix[from[e]][to[e]] = 1;
+                matrix[to[e]][from[e]] = 1;
+            }
+        }
+        return matrix;
+    }
+
+    String toEdgeList() {
+        StringBuilder content = new StringBuilder();
+        for (int e = 0; e < edgeCount; e++) {
+            content.append(e).append(',').append(from[e]).append(',').append(to[e]).append('\n');
+        }
+        return content.toString();
+    }
+
+    Path writeEdgeFile() throws IOException {
+        Path file = Files.createTempFile("graph", ".txt");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int e = 0; e < edgeCount; e++) {
+                writer.write(e + "," + from[e] + "," + to[e] + "\n");
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,105 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * A*点到点最短路径搜索
+ */
+public class AStarSearch {
+
+    private final CsrGraph graph;
+    //search arrays reused by every query, dist and parent of v belong to the current query when stamp[v] == epoch
+    private final int[] dist;
+    private final int[] parent;
+    private final int[] stamp;
+    private int epoch;
+    private final IndexedMinHeap open;
+    private int settledCount;
+
+    public AStarSearch(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        dist = new int[n];
+        parent = new int[n];
+        stamp = new int[n];
+        open = new IndexedMinHeap(n);
+    }
+
+    /**
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param heuristic a lower bound of the distance to the target
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int distance(int source, int target, Heuristic heuristic) {
+        return search(source, target, heuristic) ? dist[target] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param heuristic a lower bound of the distance to the target
+     * @return the vertices of a shortest path from source to target, both included, or null if they are not connected
+     */
+    public int[] path(int source, int target, Heuristic heuristic) {
+        if (!search(source, target, heuristic)) {
+            return null;
+        }
+        int length = 0;
+        for (int v = target; v != -1; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target; v != -1; v = parent[v]) {
+            path[--length] = v;
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of vertices taken out of the open set by the last query, a measure of its work
+     */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /*
+     * A*: always expand the open vertex with the smallest distance plus estimate. A vertex is expanded
+     * again if a shorter way to it is found later, so heuristics which are only admissible stay correct.
+     */
+    private boolean search(int source, int target, Heuristic heuristic) {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        open.clear();
+        settledCount = 0;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        visit(source, 0, -1);
+        open.insertOrDecrease(source, heuristic.estimate(source, target));
+
+        while (!open.isEmpty()) {
+            int v = open.poll();
+            settledCount++;
+            if (v == target) {
+                return true;
+            }
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                int newDist = dist[v] + graph.weight(i);
+                if (stamp[w] != epoch || newDist < dist[w]) {
+                    visit(w, newDist, v);
+                    open.insertOrDecrease(w, newDist + heuristic.estimate(w, target));
+                }
+            }
+        }
+        return false;
+    }
+
+    private void visit(int v, int d, int p) {
+        stamp[v] = epoch;
+        dist[v] = d;
+        parent[v] = p;
+    }
+}
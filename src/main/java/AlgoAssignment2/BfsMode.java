@@ -0,0 +1,10 @@
+package AlgoAssignment2;
+
+/*
+ * CsrGraph广度优先搜索的执行方式
+ */
+public enum BfsMode {
+    SERIAL,// Single threaded queue based BFS
+    PARALLEL,// Level synchronous BFS, every frontier is expanded by the fork-join pool
+    DIRECTION_OPTIMIZING// Switches between top-down and bottom-up sweeps depending on the frontier size
+}
@@ -0,0 +1,246 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+ * 在同一个不可变CsrGraph上反复执行广度优先搜索查询
+ */
+public class BfsQueryEngine {
+
+    //The number of queries of a batch answered with one workspace
+    private static final int BATCH_CHUNK = 1024;
+
+    private final CsrGraph graph;
+    //The search arrays of the queries which do not pass their own, allocated by the first of them
+    private Workspace ownWorkspace;
+
+    public BfsQueryEngine(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * The search arrays of one thread, reused by all of its queries. dist[v] only holds a distance of the
+     * current query when stamp[v] == epoch, so starting a query costs one increment instead of filling dist again.
+     */
+    public static final class Workspace {
+        final int[] dist;
+        final int[] stamp;
+        final int[] queue;
+        int epoch;
+
+        Workspace(int vertexCount) {
+            dist = new int[vertexCount];
+            stamp = new int[vertexCount];
+            queue = new int[vertexCount];
+        }
+
+        void nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {//the stamps wrap around, forget them all
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean visited(int v) {
+            return stamp[v] == epoch;
+        }
+
+        void visit(int v, int d) {
+            stamp[v] = epoch;
+            dist[v] = d;
+        }
+
+        int distance(int v) {
+            return stamp[v] == epoch ? dist[v] : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return new search arrays for this graph, to be reused by the queries of one thread
+     */
+    public Workspace newWorkspace() {
+        return new Workspace(graph.vertexCount());
+    }
+
+    //the workspace of the queries without one, they must not run on several threads at once
+    private Workspace ownWorkspace() {
+        if (ownWorkspace == null) {
+            ownWorkspace = newWorkspace();
+        }
+        return ownWorkspace;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Point to point query on the workspace of the engine, only one thread may call it at a time.
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int distance(int source, int target) {
+        return distance(source, target, ownWorkspace());
+    }
+
+    /**
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param ws search arrays from {@link #newWorkspace()}, used by one thread at a time
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int distance(int source, int target, Workspace ws) {
+        return nearestSeedDistance(new int[]{source}, target, ws);
+    }
+
+    /**
+     * Multi-source query: the distance from the target to the nearest of the seeds.
+     * The search stops as soon as the target is reached. It runs on the workspace of the engine, so only
+     * one thread may call it at a time.
+     * @param seeds the seed vertices
+     * @param target the target vertex
+     * @return the distance to the nearest seed, Integer.MAX_VALUE if no seed is connected to the target
+     */
+    public int nearestSeedDistance(int[] seeds, int target) {
+        return nearestSeedDistance(seeds, target, ownWorkspace());
+    }
+
+    /**
+     * Multi-source query on the given workspace, see {@link #nearestSeedDistance(int[], int)}.
+     * @param seeds the seed vertices
+     * @param target the target vertex
+     * @param ws search arrays from {@link #newWorkspace()}, used by one thread at a time
+     * @return the distance to the nearest seed, Integer.MAX_VALUE if no seed is connected to the target
+     */
+    public int nearestSeedDistance(int[] seeds, int target, Workspace ws) {
+        ws.nextEpoch();
+        int[] queue = ws.queue;
+        int head = 0, tail = 0;
+        for (int seed : seeds) {
+            if (seed == target) {
+                return 0;
+            }
+            if (!ws.visited(seed)) {
+                ws.visit(seed, 0);
+                queue[tail++] = seed;
+            }
+        }
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        while (head < tail) {
+            int v = queue[head++];
+            int nextDist = ws.dist[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (!ws.visited(w)) {
+                    if (w == target) {
+                        return nextDist;
+                    }
+                    ws.visit(w, nextDist);
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Single-source query into a buffer owned by the caller, which can be reused between queries.
+     * It runs on the workspace of the engine, so only one thread may call it at a time.
+     * @param source the source vertex
+     * @param dist receives the distance of every vertex, Integer.MAX_VALUE if it can not be reached
+     */
+    public void distancesFrom(int source, int[] dist) {
+        multiSourceDistances(new int[]{source}, dist, null, ownWorkspace());
+    }
+
+    /**
+     * Single-source query into a buffer owned by the caller, on the given workspace.
+     * @param source the source vertex
+     * @param dist receives the distance of every vertex, Integer.MAX_VALUE if it can not be reached
+     * @param ws search arrays from {@link #newWorkspace()}, used by one thread at a time
+     */
+    public void distancesFrom(int source, int[] dist, Workspace ws) {
+        multiSourceDistances(new int[]{source}, dist, null, ws);
+    }
+
+    /**
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int[] distancesFrom(int source) {
+        int[] dist = new int[graph.vertexCount()];
+        distancesFrom(source, dist);
+        return dist;
+    }
+
+    /**
+     * Multi-source query: every vertex gets the distance to its nearest seed.
+     * It runs on the workspace of the engine, so only one thread may call it at a time.
+     * @param seeds the seed vertices
+     * @param dist receives the distance of every vertex to its nearest seed, Integer.MAX_VALUE if none is connected
+     * @param nearestSeed if not null, receives the index in seeds of the nearest seed of every vertex, -1 if none
+     */
+    public void multiSourceDistances(int[] seeds, int[] dist, int[] nearestSeed) {
+        multiSourceDistances(seeds, dist, nearestSeed, ownWorkspace());
+    }
+
+    /**
+     * Multi-source query on the given workspace, see {@link #multiSourceDistances(int[], int[], int[])}.
+     * @param ws search arrays from {@link #newWorkspace()}, used by one thread at a time
+     */
+    public void multiSourceDistances(int[] seeds, int[] dist, int[] nearestSeed, Workspace ws) {
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        if (nearestSeed != null) {
+            Arrays.fill(nearestSeed, -1);
+        }
+        int[] queue = ws.queue;
+        int head = 0, tail = 0;
+        for (int i = 0; i < seeds.length; i++) {
+            if (dist[seeds[i]] != 0) {
+                dist[seeds[i]] = 0;
+                if (nearestSeed != null) {
+                    nearestSeed[seeds[i]] = i;
+                }
+                queue[tail++] = seeds[i];
+            }
+        }
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        while (head < tail) {
+            int v = queue[head++];
+            int nextDist = dist[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (dist[w] == Integer.MAX_VALUE) {
+                    dist[w] = nextDist;
+                    if (nearestSeed != null) {
+                        nearestSeed[w] = nearestSeed[v];
+                    }
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Answer a batch of point to point queries in parallel. The batch is cut into chunks of queries,
+     * every chunk allocates one workspace and reuses it for all of its queries.
+     * @param sources the source of every query
+     * @param targets the target of every query
+     * @return the distance of every query, Integer.MAX_VALUE if the pair is not connected
+     */
+    public int[] batchDistances(int[] sources, int[] targets) {
+        int[] result = new int[sources.length];
+        int chunks = (sources.length + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            Workspace ws = newWorkspace();
+            for (int i = c * BATCH_CHUNK, end = Math.min(sources.length, i + BATCH_CHUNK); i < end; i++) {
+                result[i] = distance(sources[i], targets[i], ws);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 双向广度优先搜索: 同时从起点和终点扩展, 两个前沿相遇时停止
+ */
+public class BidirectionalBfs {
+
+    private final CsrGraph graph;
+    //The search arrays of both directions, reused by every query, so an instance serves one thread at a time
+    private final Side forward;
+    private final Side backward;
+
+    /**
+     * Allocate the search arrays of both directions once; use one instance per querying thread.
+     * @param graph an unweighted graph
+     */
+    public BidirectionalBfs(CsrGraph graph) {
+        this.graph = graph;
+        this.forward = new Side(graph.vertexCount());
+        this.backward = new Side(graph.vertexCount());
+    }
+
+    /**
+     * The search state of one direction. As in BfsQueryEngine, dist and parent of v only belong to
+     * the current query when stamp[v] == epoch.
+     */
+    private static class Side {
+        final int[] dist;
+        final int[] parent;
+        final int[] stamp;
+        final int[] queue;
+        int epoch;
+        int head;
+        int tail;
+        long frontierEdges;// The number of edges leaving the current frontier
+
+        Side(int vertexCount) {
+            dist = new int[vertexCount];
+            parent = new int[vertexCount];
+            stamp = new int[vertexCount];
+            queue = new int[vertexCount];
+        }
+
+        void start(int root, CsrGraph graph) {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            head = 0;
+            tail = 0;
+            visit(root, 0, -1);
+            queue[tail++] = root;
+            frontierEdges = graph.degree(root);
+        }
+
+        boolean visited(int v) {
+            return stamp[v] == epoch;
+        }
+
+        void visit(int v, int d, int p) {
+            stamp[v] = epoch;
+            dist[v] = d;
+            parent[v] = p;
+        }
+    }
+
+    /**
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int distance(int source, int target) {
+        int meeting = search(source, target);
+        return meeting < 0 ? Integer.MAX_VALUE : forward.dist[meeting] + backward.dist[meeting];
+    }
+
+    /**
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the vertices of one shortest path from source to target, both included, or null if they are not connected
+     */
+    public int[] path(int source, int target) {
+        int meeting = search(source, target);
+        if (meeting < 0) {
+            return null;
+        }
+        int[] path = new int[forward.dist[meeting] + backward.dist[meeting] + 1];
+        int i = forward.dist[meeting];
+        for (int v = meeting; v != -1; v = forward.parent[v]) {
+            path[i--] = v;
+        }
+        i = forward.dist[meeting];
+        for (int v = meeting; v != -1; v = backward.parent[v]) {
+            path[i++] = v;
+        }
+        return path;
+    }
+
+    /*
+     * Expand one whole level at a time, always on the side whose frontier has fewer edges.
+     * The first vertex found by both sides lies on a shortest path: before that level no vertex was
+     * shared, so the distance is at least the sum of the two finished depths plus one, which is the
+     * length of the path through the meeting vertex.
+     * Returns the meeting vertex, or -1 when one side runs out of vertices.
+     */
+    private int search(int source, int target) {
+        forward.start(source, graph);
+        backward.start(target, graph);
+        if (source == target) {
+            return source;
+        }
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        while (forward.head < forward.tail && backward.head < backward.tail) {
+            Side side = forward.frontierEdges <= backward.frontierEdges ? forward : backward;
+            Side other = side == forward ? backward : forward;
+            int levelEnd = side.tail;
+            side.frontierEdges = 0;
+            while (side.head < levelEnd) {
+                int v = side.queue[side.head++];
+                int nextDist = side.dist[v] + 1;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = targets[i];
+                    if (side.visited(w)) {
+                        continue;
+                    }
+                    side.visit(w, nextDist, v);
+                    if (other.visited(w)) {
+                        return w;
+                    }
+                    side.queue[side.tail++] = w;
+                    side.frontierEdges += offsets[w + 1] - offsets[w];
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,128 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * 二进制边文件: 头部之后是一对对int端点
+ *
+ * Layout, little endian:
+ *   int magic "EDGE", int version, int vertexCount, int unused, long edgeCount
+ *   edgeCount pairs of int from, int to
+ */
+public class BinaryEdgeFile {
+
+    static final int MAGIC = 0x45444745;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Stream the edges of a source into a file, replacing the file if it exists.
+     * @param source the edges
+     * @param file the edge file
+     * @throws IOException if the file can not be written
+     */
+    public static void write(EdgeSource source, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(source.vertexCount()).putInt(0).putLong(source.edgeCount());
+            long[] written = {0};
+            try {
+                source.forEachEdge((from, to) -> {
+                    if (buffer.remaining() < 8) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(from).putInt(to);
+                    written[0]++;
+                });
+                flush(channel, buffer);
+            } catch (UncheckedIOException e) {
+                //report the write failure as the IOException this method declares
+                throw e.getCause();
+            }
+            if (written[0] != source.edgeCount()) {
+                throw new IOException("The source produced " + written[0] + " edges instead of " + source.edgeCount());
+            }
+        }
+    }
+
+    //EdgeSink can not throw IOException, so it is tunnelled out unchecked and unwrapped again in write
+    private static void flush(FileChannel channel, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Open an edge file as a source which reads the file again on every pass.
+     * @param file the edge file
+     * @return the edges of the file
+     * @throws IOException if the file can not be read or is not an edge file
+     */
+    public static EdgeSource open(Path file) throws IOException {
+        int vertexCount;
+        long edgeCount;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                //read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not an edge file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported edge file version " + version + ": " + file);
+            }
+            vertexCount = header.getInt();
+            header.getInt();
+            edgeCount = header.getLong();
+            if (channel.size() != HEADER_BYTES + 8 * edgeCount) {
+                throw new IOException("Truncated edge file: " + file);
+            }
+        }
+        return new EdgeSource() {
+            @Override
+            public int vertexCount() {
+                return vertexCount;
+            }
+
+            @Override
+            public long edgeCount() {
+                return edgeCount;
+            }
+
+            @Override
+            public void forEachEdge(EdgeSink sink) throws IOException {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    channel.position(HEADER_BYTES);
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                    while (channel.read(buffer) >= 0 || buffer.position() > 0) {
+                        buffer.flip();
+                        if (buffer.remaining() < 8) {
+                            break;
+                        }
+                        while (buffer.remaining() >= 8) {
+                            sink.accept(buffer.getInt(), buffer.getInt());
+                        }
+                        buffer.compact();
+                    }
+                }
+            }
+        };
+    }
+}
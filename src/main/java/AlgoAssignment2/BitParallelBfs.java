@@ -0,0 +1,211 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 位并行广度优先搜索: 用一个long的64位同时推进64个源点
+ */
+public class BitParallelBfs {
+
+    public static final int SOURCES_PER_RUN = 64;
+    //Deeper than this the searches of a run rarely meet on the same vertex at the same level
+    //(grids, road networks), so each source finishes with its own queue
+    private static final int SHARED_LEVELS = 32;
+
+    /**
+     * Receives the vertices reached by a bit parallel run, level by level.
+     */
+    public interface LevelVisitor {
+        /**
+         * @param vertex the reached vertex
+         * @param distance the distance of the vertex to the sources in the mask
+         * @param sources bit i is set if the vertex is first reached at this distance from sources[i] of the run
+         */
+        void reached(int vertex, int distance, long sources);
+    }
+
+    private final CsrGraph graph;
+    private final long[] seen;
+    private final long[] frontier;
+    private final long[] next;
+    //The vertices with frontier bits, and the vertices whose next bits were set during the current level,
+    //so a level only costs the edges of its frontier instead of a scan of every vertex
+    private int[] active;
+    private int[] touched;
+
+    public BitParallelBfs(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        seen = new long[n];
+        frontier = new long[n];
+        next = new long[n];
+        active = new int[n];
+        touched = new int[n];
+    }
+
+    /**
+     * Run a breadth first search from up to 64 sources at once. Vertex v keeps one bit per source in
+     * seen[v] and frontier[v], so one scan of the adjacency of v advances every search with a word-wide OR.
+     * Only the vertices of the frontier and their neighbours are visited at each level. Past the first
+     * levels every source finishes alone, so a high diameter graph costs no more than separate searches.
+     * The source itself is reported at distance 0.
+     * @param sources at most 64 source vertices
+     * @param visitor receives every vertex at each distance where new sources reach it
+     */
+    public void run(int[] sources, LevelVisitor visitor) {
+        if (sources.length > SOURCES_PER_RUN) {
+            throw new IllegalArgumentException("At most " + SOURCES_PER_RUN + " sources per run: " + sources.length);
+        }
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        Arrays.fill(seen, 0L);
+        Arrays.fill(frontier, 0L);
+        Arrays.fill(next, 0L);
+        int activeCount = 0;
+        for (int i = 0; i < sources.length; i++) {
+            int source = sources[i];
+            if (frontier[source] == 0) {
+                active[activeCount++] = source;
+            }
+            seen[source] |= 1L << i;
+            frontier[source] |= 1L << i;
+        }
+        for (int a = 0; a < activeCount; a++) {
+            visitor.reached(active[a], 0, frontier[active[a]]);
+        }
+
+        for (int distance = 1; activeCount > 0; distance++) {
+            if (distance > SHARED_LEVELS) {
+                finishPerSource(sources.length, activeCount, distance, visitor);
+                return;
+            }
+            //push the frontier bits of every active vertex to its neighbours
+            int touchedCount = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int v = active[a];
+                long bits = frontier[v];
+                frontier[v] = 0L;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = targets[i];
+                    if (next[w] == 0) {
+                        touched[touchedCount++] = w;
+                    }
+                    next[w] |= bits;
+                }
+            }
+            //keep only the sources reaching a vertex for the first time
+            activeCount = 0;
+            for (int t = 0; t < touchedCount; t++) {
+                int w = touched[t];
+                long fresh = next[w] & ~seen[w];
+                next[w] = 0L;
+                if (fresh != 0) {
+                    frontier[w] = fresh;
+                    seen[w] |= fresh;
+                    active[activeCount++] = w;
+                    visitor.reached(w, distance, fresh);
+                }
+            }
+        }
+    }
+
+    /**
+     * Continue every search of the run on its own from the current frontier, visiting a vertex once per
+     * source instead of once per level at which any source reaches it.
+     * @param sourceCount the number of sources of the run
+     * @param activeCount the number of active vertices, whose frontier bits were reached at distance - 1
+     * @param distance the distance of the next level
+     */
+    private void finishPerSource(int sourceCount, int activeCount, int distance, LevelVisitor visitor) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] queue = touched;
+        for (int s = 0; s < sourceCount; s++) {
+            long mask = 1L << s;
+            int tail = 0;
+            for (int a = 0; a < activeCount; a++) {
+                if ((frontier[active[a]] & mask) != 0) {
+                    queue[tail++] = active[a];
+                }
+            }
+            int head = 0;
+            for (int d = distance; head < tail; d++) {
+                for (int levelEnd = tail; head < levelEnd; head++) {
+                    int v = queue[head];
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int w = targets[i];
+                        if ((seen[w] & mask) == 0) {
+                            seen[w] |= mask;
+                            queue[tail++] = w;
+                            visitor.reached(w, d, mask);
+                        }
+                    }
+                }
+            }
+        }
+        for (int a = 0; a < activeCount; a++) {
+            frontier[active[a]] = 0L;
+        }
+    }
+
+    /**
+     * Distances from any number of sources, computed 64 sources per run.
+     * @param sources the source vertices
+     * @return row i holds the distance of every vertex to sources[i], Integer.MAX_VALUE if it can not be reached
+     */
+    public int[][] distances(int[] sources) {
+        int[][] dist = new int[sources.length][graph.vertexCount()];
+        for (int[] row : dist) {
+            Arrays.fill(row, Integer.MAX_VALUE);
+        }
+        for (int first = 0; first < sources.length; first += SOURCES_PER_RUN) {
+            int base = first;
+            run(Arrays.copyOfRange(sources, first, Math.min(sources.length, first + SOURCES_PER_RUN)),
+                    (vertex, distance, bits) -> {
+                        while (bits != 0) {
+                            dist[base + Long.numberOfTrailingZeros(bits)][vertex] = distance;
+                            bits &= bits - 1;
+                        }
+                    });
+        }
+        return dist;
+    }
+
+    /**
+     * @param sources the source vertices
+     * @return the eccentricity of every source inside its connected component
+     */
+    public int[] eccentricities(int[] sources) {
+        int[] eccentricity = new int[sources.length];
+        for (int first = 0; first < sources.length; first += SOURCES_PER_RUN) {
+            int base = first;
+            run(Arrays.copyOfRange(sources, first, Math.min(sources.length, first + SOURCES_PER_RUN)),
+                    (vertex, distance, bits) -> {
+                        while (bits != 0) {//distances only grow, so the last one reported is the largest
+                            eccentricity[base + Long.numberOfTrailingZeros(bits)] = distance;
+                            bits &= bits - 1;
+                        }
+                    });
+        }
+        return eccentricity;
+    }
+
+    /**
+     * @param sources the source vertices
+     * @return the sum of the distances from every source to the vertices it can reach, the basis of closeness centrality
+     */
+    public long[] distanceSums(int[] sources) {
+        long[] sums = new long[sources.length];
+        for (int first = 0; first < sources.length; first += SOURCES_PER_RUN) {
+            int base = first;
+            run(Arrays.copyOfRange(sources, first, Math.min(sources.length, first + SOURCES_PER_RUN)),
+                    (vertex, distance, bits) -> {
+                        while (bits != 0) {
+                            sums[base + Long.numberOfTrailingZeros(bits)] += distance;
+                            bits &= bits - 1;
+                        }
+                    });
+        }
+        return sums;
+    }
+}
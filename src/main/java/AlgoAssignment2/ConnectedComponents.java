@@ -0,0 +1,181 @@
+package AlgoAssignment2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+ * 无向图的连通分量
+ */
+public class ConnectedComponents {
+
+    //Afforest links every vertex to its first NEIGHBOUR_ROUNDS neighbours before sampling
+    private static final int NEIGHBOUR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+
+    private static final VarHandle COMP = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int[] component;// Dense component id of every vertex, numbered by their smallest vertex
+    private final int count;
+
+    private ConnectedComponents(int[] root) {
+        //renumber the roots to 0, 1, 2 ... in order of the vertex ids
+        int n = root.length;
+        int[] id = new int[n];
+        Arrays.fill(id, -1);
+        component = new int[n];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            if (id[root[v]] == -1) {
+                id[root[v]] = next++;
+            }
+            component[v] = id[root[v]];
+        }
+        count = next;
+    }
+
+    /**
+     * Find the components with a union-find over every edge.
+     * @param graph the graph
+     * @return the components of the graph
+     */
+    public static ConnectedComponents of(CsrGraph graph) {
+        int n = graph.vertexCount();
+        UnionFind sets = new UnionFind(n);
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        for (int v = 0; v < n; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (v < targets[i]) {//every edge is stored twice, union it once
+                    sets.union(v, targets[i]);
+                }
+            }
+        }
+        int[] root = new int[n];
+        for (int v = 0; v < n; v++) {
+            root[v] = sets.find(v);
+        }
+        return new ConnectedComponents(root);
+    }
+
+    /**
+     * Find the components in parallel with Afforest: each vertex is first linked to a couple of its
+     * neighbours, which already joins most of a large component. A sample then finds the largest component,
+     * and in the final pass the vertices already in it skip their remaining edges. Links are made by CAS,
+     * always hanging the larger root below the smaller one, so the vertices can be processed in any order.
+     * @param graph the graph
+     * @param pool the pool linking the vertices
+     * @return the components of the graph
+     */
+    public static ConnectedComponents parallel(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] comp = new int[n];
+        for (int v = 0; v < n; v++) {
+            comp[v] = v;
+        }
+
+        pool.submit(() -> {
+            for (int round = 0; round < NEIGHBOUR_ROUNDS; round++) {
+                int r = round;
+                IntStream.range(0, n).parallel().forEach(v -> {
+                    if (offsets[v] + r < offsets[v + 1]) {
+                        link(v, targets[offsets[v] + r], comp);
+                    }
+                });
+                IntStream.range(0, n).parallel().forEach(v -> compress(v, comp));
+            }
+
+            int largest = sampleLargest(comp);
+            IntStream.range(0, n).parallel().forEach(v -> {
+                if (comp[v] == largest) {
+                    return;
+                }
+                for (int i = offsets[v] + NEIGHBOUR_ROUNDS; i < offsets[v + 1]; i++) {
+                    link(v, targets[i], comp);
+                }
+            });
+            IntStream.range(0, n).parallel().forEach(v -> compress(v, comp));
+        }).join();
+        return new ConnectedComponents(comp);
+    }
+
+    /*
+     * Join the trees of u and v. Only a root is ever changed, and it always points to a smaller id
+     * afterwards, so concurrent links can not build a cycle.
+     */
+    private static void link(int u, int v, int[] comp) {
+        int p1 = (int) COMP.getVolatile(comp, u);
+        int p2 = (int) COMP.getVolatile(comp, v);
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int highParent = (int) COMP.getVolatile(comp, high);
+            if (highParent == low) {
+                return;
+            }
+            if (highParent == high && COMP.compareAndSet(comp, high, high, low)) {
+                return;
+            }
+            p1 = (int) COMP.getVolatile(comp, (int) COMP.getVolatile(comp, high));
+            p2 = (int) COMP.getVolatile(comp, low);
+        }
+    }
+
+    //point v straight at its root
+    private static void compress(int v, int[] comp) {
+        while (comp[v] != comp[comp[v]]) {
+            comp[v] = comp[comp[v]];
+        }
+    }
+
+    //the most frequent root among a random sample of vertices
+    private static int sampleLargest(int[] comp) {
+        if (comp.length == 0) {
+            return -1;
+        }
+        Random random = new Random(comp.length);
+        HashMap<Integer, Integer> counts = new HashMap<>();
+        int best = comp[0], bestCount = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int root = comp[random.nextInt(comp.length)];
+            int c = counts.merge(root, 1, Integer::sum);
+            if (c > bestCount) {
+                bestCount = c;
+                best = root;
+            }
+        }
+        return best;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return the component id of the vertex, between 0 and count() - 1
+     */
+    public int componentOf(int vertex) {
+        return component[vertex];
+    }
+
+    public boolean connected(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    /**
+     * @return the number of vertices of every component
+     */
+    public int[] sizes() {
+        int[] sizes = new int[count];
+        for (int c : component) {
+            sizes[c]++;
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,348 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * 无向图的压缩稀疏行(CSR)表示
+ */
+public class CsrGraph {
+
+    //The neighbours of vertex v are targets[offsets[v]] ... targets[offsets[v + 1] - 1].
+    //Every undirected edge is stored twice, once in the list of each end point.
+    final int[] offsets;
+    final int[] targets;
+    //weights[i] is the cost of the edge stored in targets[i], null when every edge costs 1
+    final int[] weights;
+    private final int vertexCount;
+
+    CsrGraph(int[] offsets, int[] targets) {
+        this(offsets, targets, null);
+    }
+
+    CsrGraph(int[] offsets, int[] targets, int[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.vertexCount = offsets.length - 1;
+    }
+
+    /**
+     * Construct the graph using the adjacent matrix, in the same way as NonDirectedGraph does:
+     * only the entries above the diagonal that equal 1 are treated as edges.
+     * @param adjacentMatrix the input adjacent matrix of graph
+     * @return the CSR graph, vertex i of the graph is row i of the matrix
+     */
+    public static CsrGraph fromAdjacencyMatrix(int[][] adjacentMatrix) {
+        int n = adjacentMatrix.length;
+        int[] degree = new int[n];
+        int edges = 0;
+        //first pass: count the degree of every vertex
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < adjacentMatrix[0].length; j++) {
+                if (adjacentMatrix[i][j] == 1) {
+                    degree[i]++;
+                    degree[j]++;
+                    edges++;
+                }
+            }
+        }
+        int[] offsets = prefixSum(degree);
+        int[] targets = new int[2 * edges];
+        int[] next = Arrays.copyOf(offsets, n);
+        //second pass: fill the neighbour lists
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < adjacentMatrix[0].length; j++) {
+                if (adjacentMatrix[i][j] == 1) {
+                    targets[next[i]++] = j;
+                    targets[next[j]++] = i;
+                }
+            }
+        }
+        return new CsrGraph(offsets, targets);
+    }
+
+    /**
+     * Construct a weighted graph using the adjacent matrix: every positive entry above the diagonal
+     * is an edge whose cost is the entry.
+     * @param adjacentMatrix the input adjacent matrix of graph
+     * @return the weighted CSR graph, vertex i of the graph is row i of the matrix
+     */
+    public static CsrGraph fromWeightedAdjacencyMatrix(int[][] adjacentMatrix) {
+        int n = adjacentMatrix.length;
+        int edges = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < adjacentMatrix[0].length; j++) {
+                if (adjacentMatrix[i][j] > 0) {
+                    edges++;
+                }
+            }
+        }
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] cost = new int[edges];
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < adjacentMatrix[0].length; j++) {
+                if (adjacentMatrix[i][j] > 0) {
+                    from[e] = i;
+                    to[e] = j;
+                    cost[e++] = adjacentMatrix[i][j];
+                }
+            }
+        }
+        return fromEdges(n, from, to, cost, edges);
+    }
+
+    /**
+     * Construct the graph from the "id,from,to" edge list used by Problem2, one edge per line.
+     * Vertex labels must be non-negative integers, they are used as the vertex ids directly.
+     * @param graphContent the edge list
+     * @return the CSR graph
+     */
+    public static CsrGraph fromEdgeList(String graphContent) {
+        String[] lines = graphContent.split("\n");
+        int[] from = new int[lines.length];
+        int[] to = new int[lines.length];
+        int n = 0;
+        for (int i = 0; i < lines.length; i++) {
+            String[] nodesInfo = lines[i].split(",");
+            from[i] = Integer.parseInt(nodesInfo[1].trim());
+            to[i] = Integer.parseInt(nodesInfo[2].trim());
+            n = Math.max(n, Math.max(from[i], to[i]) + 1);
+        }
+        return fromEdges(n, from, to, lines.length);
+    }
+
+    /**
+     * Construct a weighted graph from an "id,from,to,weight" edge list such as a.txt, one edge per line.
+     * @param graphContent the edge list
+     * @return the weighted CSR graph
+     */
+    public static CsrGraph fromWeightedEdgeList(String graphContent) {
+        String[] lines = graphContent.split("\n");
+        int[] from = new int[lines.length];
+        int[] to = new int[lines.length];
+        int[] cost = new int[lines.length];
+        int n = 0;
+        for (int i = 0; i < lines.length; i++) {
+            String[] nodesInfo = lines[i].split(",");
+            from[i] = Integer.parseInt(nodesInfo[1].trim());
+            to[i] = Integer.parseInt(nodesInfo[2].trim());
+            cost[i] = Integer.parseInt(nodesInfo[3].trim());
+            n = Math.max(n, Math.max(from[i], to[i]) + 1);
+        }
+        return fromEdges(n, from, to, cost, lines.length);
+    }
+
+    /**
+     * Construct the graph from parallel arrays of edge end points.
+     * @param vertexCount the number of vertices, every end point must be smaller than it
+     * @param from the first end point of every edge
+     * @param to the second end point of every edge
+     * @param edgeCount the number of edges used from the two arrays
+     * @return the CSR graph
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, int edgeCount) {
+        return fromEdges(vertexCount, from, to, null, edgeCount);
+    }
+
+    /**
+     * Construct the graph from parallel arrays of edge end points and costs.
+     * @param vertexCount the number of vertices, every end point must be smaller than it
+     * @param from the first end point of every edge
+     * @param to the second end point of every edge
+     * @param cost the non-negative cost of every edge, or null for an unweighted graph
+     * @param edgeCount the number of edges used from the arrays
+     * @return the CSR graph
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, int[] cost, int edgeCount) {
+        int[] degree = new int[vertexCount];
+        for (int i = 0; i < edgeCount; i++) {
+            degree[from[i]]++;
+            degree[to[i]]++;
+        }
+        int[] offsets = prefixSum(degree);
+        int[] targets = new int[offsets[vertexCount]];
+        int[] weights = cost == null ? null : new int[targets.length];
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            if (weights != null) {
+                if (cost[i] < 0) {
+                    throw new IllegalArgumentException("Negative edge cost: " + cost[i]);
+                }
+                weights[next[from[i]]] = cost[i];
+                weights[next[to[i]]] = cost[i];
+            }
+            targets[next[from[i]]++] = to[i];
+            targets[next[to[i]]++] = from[i];
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Construct the graph from a replayable edge stream, such as a generator or a binary edge file.
+     * The source is read twice, to count the degrees and then to fill the neighbour lists,
+     * so the edges are never held in memory apart from the CSR arrays.
+     * @param source the edges
+     * @return the CSR graph
+     * @throws IOException if the source can not be read
+     * @throws IllegalArgumentException if an edge has an end point outside the graph
+     */
+    public static CsrGraph fromEdgeSource(EdgeSource source) throws IOException {
+        int n = source.vertexCount();
+        if (2 * source.edgeCount() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for a CsrGraph: " + source.edgeCount());
+        }
+        int[] offsets = new int[n + 1];
+        //count the degree of v in offsets[v + 1]
+        source.forEachEdge((from, to) -> {
+            if (from < 0 || from >= n || to < 0 || to >= n) {
+                throw new IllegalArgumentException("Edge (" + from + ", " + to + ") outside a graph of " + n + " vertices");
+            }
+            offsets[from + 1]++;
+            offsets[to + 1]++;
+        });
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        source.forEachEdge((from, to) -> {
+            targets[next[from]++] = to;
+            targets[next[to]++] = from;
+        });
+        return new CsrGraph(offsets, targets);
+    }
+
+    //offsets[v] = degree[0] + ... + degree[v - 1], with one extra slot holding the total
+    static int[] prefixSum(int[] degree) {
+        int[] offsets = new int[degree.length + 1];
+        for (int v = 0; v < degree.length; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+        return offsets;
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return the number of undirected edges
+     */
+    public long edgeCount() {
+        return targets.length / 2;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    //the cost of the edge stored at targets[edgeIndex]
+    int weight(int edgeIndex) {
+        return weights == null ? 1 : weights[edgeIndex];
+    }
+
+    /**
+     * Breadth first search from the source over the int arrays, with an int[] as the queue.
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int[] unweightedShortestPath(int source) {
+        int[] dist = new int[vertexCount];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        int[] queue = new int[vertexCount];
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int v = queue[head++];
+            int nextDist = dist[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {//Scan the neighbours of v
+                int w = targets[i];
+                if (dist[w] == Integer.MAX_VALUE) {//If w has not been visited
+                    dist[w] = nextDist;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Breadth first search from the source with the chosen execution mode, every mode gives the same distances.
+     * The parallel mode runs on the common fork-join pool.
+     * @param source the source vertex
+     * @param mode how the search is executed
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int[] unweightedShortestPath(int source, BfsMode mode) {
+        switch (mode) {
+            case PARALLEL:
+                return ParallelBfs.unweightedShortestPath(this, source, ForkJoinPool.commonPool());
+            case DIRECTION_OPTIMIZING:
+                return DirectionOptimizingBfs.unweightedShortestPath(this, source);
+            default:
+                return unweightedShortestPath(source);
+        }
+    }
+
+    /**
+     * Level synchronous parallel breadth first search on the given pool.
+     * @param source the source vertex
+     * @param pool the pool expanding the frontiers
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int[] unweightedShortestPath(int source, ForkJoinPool pool) {
+        return ParallelBfs.unweightedShortestPath(this, source, pool);
+    }
+
+    /**
+     * @param source the source vertex
+     * @return the breadth first search tree of the source, from which the path to any vertex can be read
+     */
+    public ShortestPathTree shortestPathTree(int source) {
+        return ShortestPathTree.build(this, source);
+    }
+
+    /**
+     * Breadth first search from the source which stops as soon as the target is reached.
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int findShortestPath(int source, int target) {
+        if (source == target) {
+            return 0;
+        }
+        int[] dist = new int[vertexCount];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        int[] queue = new int[vertexCount];
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int v = queue[head++];
+            int nextDist = dist[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (dist[w] == Integer.MAX_VALUE) {
+                    if (w == target) {
+                        return nextDist;
+                    }
+                    dist[w] = nextDist;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
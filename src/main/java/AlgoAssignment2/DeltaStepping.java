@@ -0,0 +1,250 @@
+package AlgoAssignment2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 并行的delta-stepping单源最短路径
+ */
+public class DeltaStepping {
+
+    //The number of vertices relaxed by one fork-join leaf
+    private static final int CHUNK = 256;
+
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final CsrGraph graph;
+    private final int delta;
+    private final ForkJoinPool pool;
+    private final int[] dist;
+    //claimed[v] == phase when v was already appended to the output of the running phase
+    private final int[] claimed;
+    private int phase;
+    private final int[] improved;// The vertices whose distance dropped in the running phase
+    private final AtomicInteger improvedSize = new AtomicInteger();
+
+    private DeltaStepping(CsrGraph graph, int source, int delta, ForkJoinPool pool) {
+        this.graph = graph;
+        this.delta = delta;
+        this.pool = pool;
+        int n = graph.vertexCount();
+        dist = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        claimed = new int[n];
+        improved = new int[n];
+    }
+
+    /**
+     * Delta-stepping on the common fork-join pool, with delta chosen from the edge costs.
+     * @param graph the graph
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public static int[] shortestPaths(CsrGraph graph, int source) {
+        return shortestPaths(graph, source, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Delta-stepping: the tentative distances are grouped in buckets of width delta and the lowest bucket
+     * is settled by relaxing the light edges (cost at most delta) of its vertices in parallel until it stops
+     * changing, then the heavy edges of every vertex settled in it once. Distances are lowered by CAS, so the
+     * result is the same as Dijkstra's.
+     * @param graph the graph
+     * @param source the source vertex
+     * @param delta the bucket width, at least 1
+     * @param pool the pool relaxing the edges
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public static int[] shortestPaths(CsrGraph graph, int source, int delta, ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("delta must be at least 1: " + delta);
+        }
+        DeltaStepping stepping = new DeltaStepping(graph, source, delta, pool);
+        stepping.run(source);
+        return stepping.dist;
+    }
+
+    //the largest edge cost divided by the average degree, the usual choice
+    static int defaultDelta(CsrGraph graph) {
+        if (graph.weights == null || graph.vertexCount() == 0) {
+            return 1;
+        }
+        int maxCost = 0;
+        for (int cost : graph.weights) {
+            maxCost = Math.max(maxCost, cost);
+        }
+        long averageDegree = Math.max(1, graph.targets.length / graph.vertexCount());
+        return (int) Math.max(1, maxCost / averageDegree);
+    }
+
+    private void run(int source) {
+        int n = graph.vertexCount();
+        //Bucket i holds the vertices with dist / delta == i. An edge leads at most maxCost / delta + 1 buckets
+        //ahead, so that many slots plus one are reused cyclically. A vertex is appended again when it drops
+        //into another bucket; the entry left behind is stale and skipped when its slot is emptied.
+        int maxCost = 1;
+        if (graph.weights != null) {
+            for (int cost : graph.weights) {
+                maxCost = Math.max(maxCost, cost);
+            }
+        }
+        int slots = maxCost / delta + 2;
+        int[][] buckets = new int[slots][];
+        int[] bucketSize = new int[slots];
+        int[] queuedIn = new int[n];// The bucket of the last entry of v, -1 when v has no live entry
+        Arrays.fill(queuedIn, -1);
+        long queued = 0;// Entries in all the slots, stale ones included
+        int[] bucket = new int[n];
+        int[] settled = new int[n];
+        int[] settledStamp = new int[n];// settledStamp[v] == round when v is already in settled
+        int round = 0;
+
+        queuedIn[source] = 0;
+        buckets[0] = new int[]{source};
+        bucketSize[0] = 1;
+        queued = 1;
+        for (int current = 0; queued > 0; current++) {
+            int slot = current % slots;
+            if (bucketSize[slot] == 0) {
+                continue;
+            }
+            round++;
+            //take the live entries of the current bucket
+            int bucketLength = 0;
+            int[] entries = buckets[slot];
+            for (int i = 0; i < bucketSize[slot]; i++) {
+                int v = entries[i];
+                if (queuedIn[v] == current && dist[v] / delta == current) {
+                    queuedIn[v] = -1;
+                    bucket[bucketLength++] = v;
+                }
+            }
+            queued -= bucketSize[slot];
+            bucketSize[slot] = 0;
+
+            //relax light edges until the bucket stops changing
+            int settledSize = 0;
+            while (bucketLength > 0) {
+                for (int i = 0; i < bucketLength; i++) {
+                    if (settledStamp[bucket[i]] != round) {
+                        settledStamp[bucket[i]] = round;
+                        settled[settledSize++] = bucket[i];
+                    }
+                }
+                int count = relax(bucket, bucketLength, true);
+                bucketLength = 0;
+                for (int i = 0; i < count; i++) {
+                    int w = improved[i];
+                    int b = dist[w] / delta;
+                    if (b == current) {
+                        bucket[bucketLength++] = w;
+                    } else if (queuedIn[w] != b) {
+                        append(buckets, bucketSize, b % slots, w);
+                        queuedIn[w] = b;
+                        queued++;
+                    }
+                }
+            }
+            //heavy edges always lead out of the bucket, relax them once
+            int count = relax(settled, settledSize, false);
+            for (int i = 0; i < count; i++) {
+                int w = improved[i];
+                int b = dist[w] / delta;
+                if (queuedIn[w] != b) {
+                    append(buckets, bucketSize, b % slots, w);
+                    queuedIn[w] = b;
+                    queued++;
+                }
+            }
+        }
+    }
+
+    private static void append(int[][] buckets, int[] bucketSize, int slot, int v) {
+        if (buckets[slot] == null) {
+            buckets[slot] = new int[16];
+        } else if (bucketSize[slot] == buckets[slot].length) {
+            buckets[slot] = Arrays.copyOf(buckets[slot], 2 * bucketSize[slot]);
+        }
+        buckets[slot][bucketSize[slot]++] = v;
+    }
+
+    /*
+     * Relax the light or the heavy edges of vertices[0, count) in parallel.
+     * Returns the number of vertices whose distance dropped, they are stored in improved.
+     */
+    private int relax(int[] vertices, int count, boolean light) {
+        phase++;
+        improvedSize.set(0);
+        if (count <= CHUNK) {
+            relaxRange(vertices, 0, count, light);
+        } else {
+            pool.invoke(new RelaxTask(vertices, 0, count, light));
+        }
+        return improvedSize.get();
+    }
+
+    private void relaxRange(int[] vertices, int from, int to, boolean light) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] local = new int[16];
+        int localSize = 0;
+        for (int k = from; k < to; k++) {
+            int v = vertices[k];
+            int base = (int) INT_ARRAY.getVolatile(dist, v);
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int cost = graph.weight(i);
+                if ((cost <= delta) != light) {
+                    continue;
+                }
+                int w = targets[i];
+                int newDist = base + cost;
+                //CAS loop keeping the smaller distance
+                int current = (int) INT_ARRAY.getVolatile(dist, w);
+                while (newDist < current) {
+                    if (INT_ARRAY.compareAndSet(dist, w, current, newDist)) {
+                        if ((int) INT_ARRAY.getAndSet(claimed, w, phase) != phase) {
+                            if (localSize == local.length) {
+                                local = Arrays.copyOf(local, 2 * localSize);
+                            }
+                            local[localSize++] = w;
+                        }
+                        break;
+                    }
+                    current = (int) INT_ARRAY.getVolatile(dist, w);
+                }
+            }
+        }
+        if (localSize > 0) {
+            System.arraycopy(local, 0, improved, improvedSize.getAndAdd(localSize), localSize);
+        }
+    }
+
+    private class RelaxTask extends RecursiveAction {
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final boolean light;
+
+        RelaxTask(int[] vertices, int from, int to, boolean light) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                relaxRange(vertices, from, to, light);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RelaxTask(vertices, from, middle, light), new RelaxTask(vertices, middle, to, light));
+        }
+    }
+}
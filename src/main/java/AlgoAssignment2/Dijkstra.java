@@ -0,0 +1,73 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 带权无向图的单源最短路径(Dijkstra)
+ */
+public class Dijkstra {
+
+    /**
+     * Dijkstra's algorithm with an indexed binary heap keyed by vertex, so every vertex is in the
+     * heap at most once and relaxing an edge is a decrease-key. Unweighted graphs use cost 1 per edge.
+     * The costs along any shortest path must add up to less than Integer.MAX_VALUE.
+     * @param graph the graph
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public static int[] shortestPaths(CsrGraph graph, int source) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] dist = new int[graph.vertexCount()];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        IndexedMinHeap heap = new IndexedMinHeap(graph.vertexCount());
+        dist[source] = 0;
+        heap.insertOrDecrease(source, 0);
+
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                int newDist = dist[v] + graph.weight(i);
+                if (newDist < dist[w]) {
+                    dist[w] = newDist;
+                    heap.insertOrDecrease(w, newDist);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Dijkstra's algorithm with a radix heap. The keys taken out of the heap never decrease, so each
+     * entry only moves to lower buckets, which is cheaper than sifting when edge costs are small integers.
+     * @param graph the graph
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public static int[] shortestPathsRadix(CsrGraph graph, int source) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] dist = new int[graph.vertexCount()];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        RadixHeap heap = new RadixHeap();
+        dist[source] = 0;
+        heap.push(source, 0);
+
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            if (heap.lastKey() != dist[v]) {//a stale entry, v was pushed again with a smaller distance
+                continue;
+            }
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                int newDist = dist[v] + graph.weight(i);
+                if (newDist < dist[w]) {
+                    dist[w] = newDist;
+                    heap.push(w, newDist);
+                }
+            }
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,114 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 自顶向下与自底向上混合的广度优先搜索(direction-optimizing BFS)
+ */
+class DirectionOptimizingBfs {
+
+    //Switch to bottom-up when the frontier's edges exceed 1/ALPHA of the edges of the unvisited vertices
+    private static final int ALPHA = 14;
+    //Switch back to top-down when the frontier holds fewer than 1/BETA of all vertices
+    private static final int BETA = 24;
+
+    /**
+     * Breadth first search which expands small frontiers top-down, by scanning the neighbours of every
+     * frontier vertex, and large frontiers bottom-up, by letting every unvisited vertex look for any
+     * neighbour in the frontier and stopping at the first one. The bottom-up frontiers are bitsets.
+     * @param graph the graph
+     * @param source the source vertex
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    static int[] unweightedShortestPath(CsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] dist = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+
+        int[] queue = new int[n];//top-down frontier, frontier vertices are queue[head, tail)
+        long[] frontier = new long[(n + 63) >>> 6];//bottom-up frontier bitset
+        long[] next = new long[frontier.length];
+        int head = 0, tail = 0;
+        boolean topDown = true;
+
+        dist[source] = 0;
+        queue[tail++] = source;
+        int frontierSize = 1;
+        long unexploredEdges = targets.length - graph.degree(source);//edges of the unvisited vertices
+        int level = 0;
+
+        while (frontierSize > 0) {
+            if (topDown) {
+                long frontierEdges = 0;
+                for (int i = head; i < tail; i++) {
+                    frontierEdges += graph.degree(queue[i]);
+                }
+                if (frontierEdges > unexploredEdges / ALPHA) {
+                    //queue to bitset
+                    Arrays.fill(frontier, 0L);
+                    for (int i = head; i < tail; i++) {
+                        frontier[queue[i] >>> 6] |= 1L << queue[i];
+                    }
+                    topDown = false;
+                }
+            }
+
+            int nextDist = level + 1;
+            int previousSize = frontierSize;
+            frontierSize = 0;
+            if (topDown) {
+                int levelEnd = tail;
+                while (head < levelEnd) {
+                    int v = queue[head++];
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int w = targets[i];
+                        if (dist[w] == Integer.MAX_VALUE) {
+                            dist[w] = nextDist;
+                            queue[tail++] = w;
+                            unexploredEdges -= offsets[w + 1] - offsets[w];
+                            frontierSize++;
+                        }
+                    }
+                }
+            } else {
+                Arrays.fill(next, 0L);
+                for (int v = 0; v < n; v++) {
+                    if (dist[v] != Integer.MAX_VALUE) {
+                        continue;
+                    }
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int w = targets[i];
+                        if ((frontier[w >>> 6] & (1L << w)) != 0) {//found a parent, stop scanning
+                            dist[v] = nextDist;
+                            next[v >>> 6] |= 1L << v;
+                            unexploredEdges -= offsets[v + 1] - offsets[v];
+                            frontierSize++;
+                            break;
+                        }
+                    }
+                }
+                long[] swap = frontier;
+                frontier = next;
+                next = swap;
+
+                if (frontierSize < previousSize && frontierSize < n / BETA) {
+                    //bitset to queue
+                    head = 0;
+                    tail = 0;
+                    for (int word = 0; word < frontier.length; word++) {
+                        long bits = frontier[word];
+                        while (bits != 0) {
+                            queue[tail++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                            bits &= bits - 1;
+                        }
+                    }
+                    topDown = true;
+                }
+            }
+            level++;
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,191 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 动态维护单源无权最短路径: 插入或删除边后只修复受影响的顶点
+ */
+public class DynamicBfs {
+
+    private final int source;
+    private final int[][] adjacency;// adjacency[v][0, degree[v]) are the neighbours of v
+    private final int[] degree;
+    private final int[] dist;
+
+    //scratch space of the repairs
+    private final IndexedMinHeap heap;
+    private final boolean[] affected;
+    private final int[] affectedList;
+
+    /**
+     * Copy the graph into growable neighbour lists and compute the distances from the source once.
+     * @param graph the initial graph
+     * @param source the source vertex
+     */
+    public DynamicBfs(CsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        this.source = source;
+        adjacency = new int[n][];
+        degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            adjacency[v] = Arrays.copyOfRange(graph.targets, graph.offsets[v], graph.offsets[v + 1]);
+            degree[v] = adjacency[v].length;
+        }
+        dist = graph.unweightedShortestPath(source);
+        heap = new IndexedMinHeap(n);
+        affected = new boolean[n];
+        affectedList = new int[n];
+    }
+
+    /**
+     * @return the distance of the vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int distance(int vertex) {
+        return dist[vertex];
+    }
+
+    /**
+     * @return a copy of the current distances
+     */
+    public int[] distances() {
+        return dist.clone();
+    }
+
+    public void insertEdge(int u, int v) {
+        applyBatch(new int[]{u}, new int[]{v}, new int[0], new int[0]);
+    }
+
+    public void deleteEdge(int u, int v) {
+        applyBatch(new int[0], new int[0], new int[]{u}, new int[]{v});
+    }
+
+    /**
+     * Apply a batch of edge changes, deletions first, and repair the distances.
+     * Deleting an edge that is not in the graph does nothing.
+     * @param insertFrom the first end point of every inserted edge
+     * @param insertTo the second end point of every inserted edge
+     * @param deleteFrom the first end point of every deleted edge
+     * @param deleteTo the second end point of every deleted edge
+     */
+    public void applyBatch(int[] insertFrom, int[] insertTo, int[] deleteFrom, int[] deleteTo) {
+        heap.clear();
+        for (int i = 0; i < deleteFrom.length; i++) {
+            int u = deleteFrom[i], v = deleteTo[i];
+            if (removeNeighbour(u, v) && removeNeighbour(v, u)) {
+                //only the farther end point can lose its shortest path
+                if (dist[u] != Integer.MAX_VALUE && dist[v] == dist[u] + 1) {
+                    heap.insertOrDecrease(v, dist[v]);
+                } else if (dist[v] != Integer.MAX_VALUE && dist[u] == dist[v] + 1) {
+                    heap.insertOrDecrease(u, dist[u]);
+                }
+            }
+        }
+        if (!heap.isEmpty()) {
+            repairDeletions();
+        }
+
+        for (int i = 0; i < insertFrom.length; i++) {
+            int u = insertFrom[i], v = insertTo[i];
+            addNeighbour(u, v);
+            addNeighbour(v, u);
+            if (dist[u] != Integer.MAX_VALUE && dist[u] + 1 < dist[v]) {
+                dist[v] = dist[u] + 1;
+                heap.insertOrDecrease(v, dist[v]);
+            } else if (dist[v] != Integer.MAX_VALUE && dist[v] + 1 < dist[u]) {
+                dist[u] = dist[v] + 1;
+                heap.insertOrDecrease(u, dist[u]);
+            }
+        }
+        propagateDecreases();
+    }
+
+    /*
+     * The heap holds the end points which may have lost their last parent. Visit candidates in order of
+     * their old distance: a candidate is affected when no unaffected neighbour is one level closer, and its
+     * children become candidates. Since closer levels are decided first, the check never uses a stale neighbour.
+     * Then the affected vertices get new distances from their unaffected neighbours, smallest first.
+     */
+    private void repairDeletions() {
+        int affectedCount = 0;
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            if (v == source || hasParent(v)) {
+                continue;
+            }
+            affected[v] = true;
+            affectedList[affectedCount++] = v;
+            for (int i = 0; i < degree[v]; i++) {
+                int w = adjacency[v][i];
+                if (!affected[w] && dist[w] == dist[v] + 1) {
+                    heap.insertOrDecrease(w, dist[w]);
+                }
+            }
+        }
+
+        for (int k = 0; k < affectedCount; k++) {
+            int v = affectedList[k];
+            dist[v] = Integer.MAX_VALUE;
+        }
+        for (int k = 0; k < affectedCount; k++) {
+            int v = affectedList[k];
+            int best = Integer.MAX_VALUE;
+            for (int i = 0; i < degree[v]; i++) {
+                int w = adjacency[v][i];
+                if (!affected[w] && dist[w] != Integer.MAX_VALUE) {
+                    best = Math.min(best, dist[w] + 1);
+                }
+            }
+            if (best != Integer.MAX_VALUE) {
+                dist[v] = best;
+                heap.insertOrDecrease(v, best);
+            }
+        }
+        for (int k = 0; k < affectedCount; k++) {
+            affected[affectedList[k]] = false;
+        }
+        propagateDecreases();
+    }
+
+    //settle the vertices in the heap smallest distance first and lower the distances of their neighbours
+    private void propagateDecreases() {
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            int nextDist = dist[v] + 1;
+            for (int i = 0; i < degree[v]; i++) {
+                int w = adjacency[v][i];
+                if (nextDist < dist[w]) {
+                    dist[w] = nextDist;
+                    heap.insertOrDecrease(w, nextDist);
+                }
+            }
+        }
+    }
+
+    //whether v has an unaffected neighbour one level closer to the source
+    private boolean hasParent(int v) {
+        for (int i = 0; i < degree[v]; i++) {
+            int w = adjacency[v][i];
+            if (!affected[w] && dist[w] != Integer.MAX_VALUE && dist[w] + 1 == dist[v]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addNeighbour(int v, int w) {
+        if (degree[v] == adjacency[v].length) {
+            adjacency[v] = Arrays.copyOf(adjacency[v], Math.max(4, 2 * degree[v]));
+        }
+        adjacency[v][degree[v]++] = w;
+    }
+
+    private boolean removeNeighbour(int v, int w) {
+        for (int i = 0; i < degree[v]; i++) {
+            if (adjacency[v][i] == w) {
+                adjacency[v][i] = adjacency[v][--degree[v]];
+                return true;
+            }
+        }
+        return false;
+    }
+}
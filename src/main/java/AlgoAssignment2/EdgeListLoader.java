@@ -0,0 +1,270 @@
+package AlgoAssignment2;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/*
+ * 从"id,from,to"格式的边文件流式构建CsrGraph
+ */
+public class EdgeListLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Load an edge file in the "id,from,to" format of Problem2, one edge per line, into a CsrGraph.
+     * The file is read twice: the first pass counts the degree of every vertex and the second pass
+     * fills the neighbour lists, so only the CSR arrays themselves are ever held in memory.
+     * Vertex labels must be non-negative integers, they are used as the vertex ids directly.
+     * Any column after "to", such as a weight, is ignored, blank lines are skipped.
+     * @param edgeFile the edge file
+     * @return the CSR graph
+     * @throws IOException if the file can not be read or a line is malformed
+     */
+    public static CsrGraph load(Path edgeFile) throws IOException {
+        return load(edgeFile, false);
+    }
+
+    /**
+     * Load an edge file in the "id,from,to,weight" format of a.txt into a weighted CsrGraph,
+     * in the same two passes as {@link #load(Path)}.
+     * @param edgeFile the edge file
+     * @return the weighted CSR graph
+     * @throws IOException if the file can not be read or a line is malformed
+     */
+    public static CsrGraph loadWeighted(Path edgeFile) throws IOException {
+        return load(edgeFile, true);
+    }
+
+    /**
+     * Load an edge file in the "id,from,to" format and relabel its vertices for cache locality.
+     * The graph in file order is dropped once the reordered copy is built.
+     * @param edgeFile the edge file
+     * @param order the new order of the vertices
+     * @return the reordered graph, which reports its results in the ids of the file
+     * @throws IOException if the file can not be read or a line is malformed
+     */
+    public static ReorderedGraph load(Path edgeFile, VertexOrder order) throws IOException {
+        return ReorderedGraph.of(load(edgeFile, false), order);
+    }
+
+    private static CsrGraph load(Path edgeFile, boolean weighted) throws IOException {
+        //first pass: count the degree of every vertex
+        int[] degree = new int[1024];
+        int vertexCount = 0;
+        long edgeCount = 0;
+        try (EdgeReader reader = new EdgeReader(edgeFile, weighted)) {
+            while (reader.next()) {
+                if (Math.max(reader.from, reader.to) > Integer.MAX_VALUE - 1) {
+                    throw reader.malformed();
+                }
+                int larger = (int) Math.max(reader.from, reader.to);
+                if (larger >= degree.length) {
+                    degree = Arrays.copyOf(degree, Math.max(larger + 1, degree.length * 2));
+                }
+                vertexCount = Math.max(vertexCount, larger + 1);
+                degree[(int) reader.from]++;
+                degree[(int) reader.to]++;
+                edgeCount++;
+            }
+        }
+        if (2 * edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many edges for a CsrGraph: " + edgeCount);
+        }
+
+        //offsets[v] is used as the insertion cursor of v during the second pass
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+        degree = null;
+        int[] targets = new int[(int) (2 * edgeCount)];
+        int[] weights = weighted ? new int[targets.length] : null;
+
+        //second pass: fill the neighbour lists
+        try (EdgeReader reader = new EdgeReader(edgeFile, weighted)) {
+            while (reader.next()) {
+                int from = (int) reader.from, to = (int) reader.to;
+                if (weighted) {
+                    weights[offsets[from]] = reader.weight;
+                    weights[offsets[to]] = reader.weight;
+                }
+                targets[offsets[from]++] = to;
+                targets[offsets[to]++] = from;
+            }
+        }
+        //every cursor now points at the start of the next vertex, shift them back by one slot
+        System.arraycopy(offsets, 0, offsets, 1, vertexCount);
+        offsets[0] = 0;
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Load an edge file in the "id,from,to" format whose vertex labels are arbitrary non-negative longs,
+     * sparse or not. Every label is interned to a dense id during the first pass, so the graph only has
+     * as many vertices as there are distinct labels; the second pass looks the ids up again.
+     * @param edgeFile the edge file
+     * @return the CSR graph over the dense ids, with the dictionary translating them back to the labels
+     * @throws IOException if the file can not be read or a line is malformed
+     */
+    public static LabeledGraph loadInterned(Path edgeFile) throws IOException {
+        //first pass: intern the labels and count the degree of every vertex
+        LabelDictionary labels = new LabelDictionary();
+        int[] degree = new int[1024];
+        long edgeCount = 0;
+        try (EdgeReader reader = new EdgeReader(edgeFile, false)) {
+            while (reader.next()) {
+                int from = labels.intern(reader.from);
+                int to = labels.intern(reader.to);
+                if (labels.size() > degree.length) {
+                    degree = Arrays.copyOf(degree, 2 * degree.length);
+                }
+                degree[from]++;
+                degree[to]++;
+                edgeCount++;
+            }
+        }
+        if (2 * edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many edges for a CsrGraph: " + edgeCount);
+        }
+        int vertexCount = labels.size();
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+        degree = null;
+        int[] targets = new int[(int) (2 * edgeCount)];
+
+        //second pass: fill the neighbour lists
+        try (EdgeReader reader = new EdgeReader(edgeFile, false)) {
+            while (reader.next()) {
+                int from = labels.id(reader.from), to = labels.id(reader.to);
+                targets[offsets[from]++] = to;
+                targets[offsets[to]++] = from;
+            }
+        }
+        System.arraycopy(offsets, 0, offsets, 1, vertexCount);
+        offsets[0] = 0;
+        return new LabeledGraph(new CsrGraph(offsets, targets), labels);
+    }
+
+    /**
+     * Reads the edges of an edge file one by one from a byte buffer, without building a String per line.
+     */
+    static class EdgeReader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private long lineNumber;
+        private int lastByte;// The byte which ended the last column read
+        private final boolean weighted;
+
+        long from;// The second column of the current line
+        long to;// The third column of the current line
+        int weight;// The fourth column of the current line, only read when weighted
+
+        EdgeReader(Path edgeFile, boolean weighted) throws IOException {
+            in = new FileInputStream(edgeFile.toFile());
+            this.weighted = weighted;
+        }
+
+        //the next byte of the file, or -1 at the end of the file
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        /**
+         * Move to the next non blank line.
+         * @return false at the end of the file
+         */
+        boolean next() throws IOException {
+            int c;
+            do {
+                c = read();
+                if (c == -1) {
+                    return false;
+                }
+                if (c == '\n') {
+                    lineNumber++;
+                }
+            } while (c == '\n' || c == '\r' || c == ' ' || c == '\t');
+            lineNumber++;
+
+            //skip the edge id
+            while (c != ',') {
+                if (c == -1 || c == '\n') {
+                    throw malformed();
+                }
+                c = read();
+            }
+            from = readNumber();
+            if (lastByte != ',') {
+                throw malformed();
+            }
+            to = readNumber();
+            if (weighted) {
+                if (lastByte != ',') {
+                    throw malformed();
+                }
+                long cost = readNumber();
+                if (cost > Integer.MAX_VALUE) {
+                    throw malformed();
+                }
+                weight = (int) cost;
+            }
+            //skip the rest of the line
+            c = lastByte;
+            while (c != '\n' && c != -1) {
+                c = read();
+            }
+            return true;
+        }
+
+        //parse a non-negative long column, the byte ending it is kept in lastByte
+        private long readNumber() throws IOException {
+            int c = read();
+            while (c == ' ') {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw malformed();
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    throw malformed();
+                }
+                value = value * 10 + (c - '0');
+                c = read();
+            }
+            while (c == ' ' || c == '\r') {
+                c = read();
+            }
+            if (c != ',' && c != '\n' && c != -1) {
+                throw malformed();
+            }
+            lastByte = c;
+            return value;
+        }
+
+        IOException malformed() {
+            return new IOException("Malformed edge on line " + lineNumber);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
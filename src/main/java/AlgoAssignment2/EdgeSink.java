@@ -0,0 +1,9 @@
+package AlgoAssignment2;
+
+/*
+ * 接收一条条无向边
+ */
+@FunctionalInterface
+public interface EdgeSink {
+    void accept(int from, int to);
+}
@@ -0,0 +1,19 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+
+/*
+ * 可以重复遍历的边流, 例如带种子的图生成器或二进制边文件
+ */
+public interface EdgeSource {
+
+    int vertexCount();
+
+    long edgeCount();
+
+    /**
+     * Stream every edge to the sink. Every call must produce the same edges in the same order,
+     * so a builder can read the source twice.
+     */
+    void forEachEdge(EdgeSink sink) throws IOException;
+}
@@ -0,0 +1,33 @@
+package AlgoAssignment2;
+
+/*
+ * 分区广度优先搜索中, 各个worker之间交换前沿顶点的通信方式
+ */
+public interface FrontierTransport {
+
+    int workerCount();
+
+    /**
+     * Collective all-to-all exchange, called once per level by every worker.
+     * Blocks until every worker has handed in its batches.
+     * @param worker the calling worker
+     * @param outgoing outgoing[w] holds the vertices this worker found for worker w, may be null when empty
+     * @param lengths lengths[w] is the number of vertices used from outgoing[w]
+     * @return the vertices the other workers found for the calling worker, in any order
+     */
+    int[] exchange(int worker, int[][] outgoing, int[] lengths) throws InterruptedException;
+
+    /**
+     * Collective OR, called once per level by every worker after the exchange.
+     * @param worker the calling worker
+     * @param active whether the calling worker has a non empty frontier
+     * @return whether any worker has a non empty frontier
+     */
+    boolean anyActive(int worker, boolean active) throws InterruptedException;
+
+    /**
+     * Called by a worker which failed, so the others stop waiting for it instead of blocking forever.
+     * @param worker the failed worker
+     */
+    void abort(int worker);
+}
@@ -0,0 +1,300 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/*
+ * 基于广度优先搜索的图分析: 直径, 离心率上下界, 接近中心性
+ */
+public class GraphAnalytics {
+
+    /**
+     * Receives the progress of a long computation, possibly from several threads at once.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (task, done, total) -> {
+        };
+
+        void progress(String task, long done, long total);
+    }
+
+    /**
+     * Lower and upper bounds of the eccentricity of every vertex inside its component.
+     */
+    public static class EccentricityBounds {
+        public final int[] lower;
+        public final int[] upper;
+
+        EccentricityBounds(int[] lower, int[] upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final ProgressListener listener;
+
+    /**
+     * The work on one chunk of at most 64 sources, with the search arrays of the worker running it.
+     */
+    @FunctionalInterface
+    private interface ChunkBody {
+        void accept(BitParallelBfs search, int first);
+    }
+
+    public GraphAnalytics(CsrGraph graph) {
+        this(graph, ProgressListener.NONE);
+    }
+
+    public GraphAnalytics(CsrGraph graph, ProgressListener listener) {
+        this.graph = graph;
+        this.listener = listener;
+    }
+
+    /**
+     * Double sweep: the vertex farthest from start is close to the periphery, and its eccentricity is a
+     * lower bound of the diameter that is often exact.
+     * @param start any vertex
+     * @return a lower bound of the diameter of the component of start
+     */
+    public int doubleSweepLowerBound(int start) {
+        int[] dist = graph.unweightedShortestPath(start);
+        return eccentricity(graph.unweightedShortestPath(farthest(dist)));
+    }
+
+    /**
+     * iFUB: the exact diameter of the component of start. A BFS tree is rooted at a central vertex u,
+     * found in the middle of a double sweep, and the eccentricities of its levels are computed from
+     * the deepest one upwards. Once the largest eccentricity seen exceeds twice the depth of the next
+     * level, no vertex above can be farther apart and the search stops, usually after a few levels.
+     * The eccentricities of a level are computed in parallel, 64 vertices per search.
+     * @param start any vertex
+     * @return the diameter of the component of start
+     */
+    public int diameter(int start) {
+        //double sweep start -> a -> b, u is the middle of the path from a to b
+        int a = farthest(graph.unweightedShortestPath(start));
+        ShortestPathTree fromA = graph.shortestPathTree(a);
+        int b = a;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            if (fromA.isReachable(v) && fromA.distance(v) > fromA.distance(b)) {
+                b = v;
+            }
+        }
+        int u = b;
+        for (int steps = fromA.distance(b) / 2; steps > 0; steps--) {
+            u = fromA.parent(u);
+        }
+
+        int[] dist = graph.unweightedShortestPath(u);
+        int depth = eccentricity(dist);
+        int[][] levels = levels(dist, depth);
+        int lower = Math.max(fromA.distance(b), depth);
+        int upper = 2 * depth;
+        for (int i = depth; upper > lower && i > 0; i--) {
+            int levelMax = 0;
+            for (int e : eccentricities(levels[i], "diameter")) {
+                levelMax = Math.max(levelMax, e);
+            }
+            lower = Math.max(lower, levelMax);
+            if (lower > 2 * (i - 1)) {
+                return lower;
+            }
+            upper = 2 * (i - 1);
+        }
+        return lower;
+    }
+
+    /**
+     * @param sources the vertices
+     * @return the eccentricity of every vertex inside its component, computed in parallel
+     */
+    public int[] eccentricities(int[] sources) {
+        return eccentricities(sources, "eccentricity");
+    }
+
+    private int[] eccentricities(int[] sources, String task) {
+        int[] result = new int[sources.length];
+        AtomicLong done = new AtomicLong();
+        forEachChunk(sources.length, (search, first) -> {
+            int[] chunk = chunk(sources, first);
+            System.arraycopy(search.eccentricities(chunk), 0, result, first, chunk.length);
+            listener.progress(task, done.addAndGet(chunk.length), sources.length);
+        });
+        return result;
+    }
+
+    /**
+     * Eccentricity bounds from sampled sources: for a source s and any vertex v of its component,
+     * max(d(s, v), ecc(s) - d(s, v)) <= ecc(v) <= ecc(s) + d(s, v).
+     * @param sampleSize the number of random sources
+     * @param seed the random seed
+     * @return the bounds of every vertex; a vertex no sample reaches keeps 0 and Integer.MAX_VALUE
+     */
+    public EccentricityBounds eccentricityBounds(int sampleSize, long seed) {
+        int n = graph.vertexCount();
+        int[] sources = sample(sampleSize, seed);
+        int[] sourceEccentricity = eccentricities(sources, "eccentricity bounds");
+        int[] lower = new int[n];
+        int[] upper = new int[n];
+        Arrays.fill(upper, Integer.MAX_VALUE);
+        AtomicLong done = new AtomicLong();
+        forEachChunk(sources.length, (search, first) -> {
+            int[] chunk = chunk(sources, first);
+            int[] chunkLower = new int[n];
+            int[] chunkUpper = new int[n];
+            Arrays.fill(chunkUpper, Integer.MAX_VALUE);
+            search.run(chunk, (vertex, distance, bits) -> {
+                while (bits != 0) {
+                    int ecc = sourceEccentricity[first + Long.numberOfTrailingZeros(bits)];
+                    chunkLower[vertex] = Math.max(chunkLower[vertex], Math.max(distance, ecc - distance));
+                    chunkUpper[vertex] = Math.min(chunkUpper[vertex], ecc + distance);
+                    bits &= bits - 1;
+                }
+            });
+            synchronized (lower) {
+                for (int v = 0; v < n; v++) {
+                    lower[v] = Math.max(lower[v], chunkLower[v]);
+                    upper[v] = Math.min(upper[v], chunkUpper[v]);
+                }
+            }
+            listener.progress("eccentricity bounds", done.addAndGet(chunk.length), sources.length);
+        });
+        return new EccentricityBounds(lower, upper);
+    }
+
+    /**
+     * Exact closeness centrality, (reached - 1) / (sum of distances) inside the component of each vertex.
+     * @param vertices the vertices
+     * @return the closeness of every vertex, 0 for an isolated vertex
+     */
+    public double[] closeness(int[] vertices) {
+        double[] result = new double[vertices.length];
+        AtomicLong done = new AtomicLong();
+        forEachChunk(vertices.length, (search, first) -> {
+            int[] chunk = chunk(vertices, first);
+            long[] sums = new long[chunk.length];
+            int[] reached = new int[chunk.length];
+            search.run(chunk, (vertex, distance, bits) -> {
+                while (bits != 0) {
+                    int s = Long.numberOfTrailingZeros(bits);
+                    sums[s] += distance;
+                    reached[s]++;
+                    bits &= bits - 1;
+                }
+            });
+            for (int i = 0; i < chunk.length; i++) {
+                result[first + i] = sums[i] == 0 ? 0 : (reached[i] - 1) / (double) sums[i];
+            }
+            listener.progress("closeness", done.addAndGet(chunk.length), vertices.length);
+        });
+        return result;
+    }
+
+    /**
+     * Sampled closeness centrality of every vertex (Eppstein–Wang): the average distance of a vertex to
+     * all others is estimated by its average distance to random sources. Vertices no sample reaches get 0.
+     * @param sampleSize the number of random sources
+     * @param seed the random seed
+     * @return the estimated closeness of every vertex
+     */
+    public double[] estimateCloseness(int sampleSize, long seed) {
+        int n = graph.vertexCount();
+        int[] sources = sample(sampleSize, seed);
+        long[] sums = new long[n];
+        int[] reachedBy = new int[n];
+        AtomicLong done = new AtomicLong();
+        forEachChunk(sources.length, (search, first) -> {
+            int[] chunk = chunk(sources, first);
+            long[] chunkSums = new long[n];
+            int[] chunkReached = new int[n];
+            search.run(chunk, (vertex, distance, bits) -> {
+                int count = Long.bitCount(bits);
+                chunkSums[vertex] += (long) distance * count;
+                chunkReached[vertex] += count;
+            });
+            synchronized (sums) {
+                for (int v = 0; v < n; v++) {
+                    sums[v] += chunkSums[v];
+                    reachedBy[v] += chunkReached[v];
+                }
+            }
+            listener.progress("closeness estimate", done.addAndGet(chunk.length), sources.length);
+        });
+        double[] closeness = new double[n];
+        for (int v = 0; v < n; v++) {
+            closeness[v] = sums[v] == 0 ? 0 : reachedBy[v] / (double) sums[v];
+        }
+        return closeness;
+    }
+
+    //run the body for the first index of every 64 source chunk, in parallel: worker w takes the chunks
+    //w, w + workers, ... and runs them all on the one BitParallelBfs it allocates
+    private void forEachChunk(int count, ChunkBody body) {
+        int chunks = (count + BitParallelBfs.SOURCES_PER_RUN - 1) / BitParallelBfs.SOURCES_PER_RUN;
+        int workers = Math.min(chunks, Runtime.getRuntime().availableProcessors());
+        IntStream.range(0, workers).parallel().forEach(w -> {
+            BitParallelBfs search = new BitParallelBfs(graph);
+            for (int c = w; c < chunks; c += workers) {
+                body.accept(search, c * BitParallelBfs.SOURCES_PER_RUN);
+            }
+        });
+    }
+
+    private static int[] chunk(int[] sources, int first) {
+        return Arrays.copyOfRange(sources, first, Math.min(sources.length, first + BitParallelBfs.SOURCES_PER_RUN));
+    }
+
+    private int[] sample(int sampleSize, long seed) {
+        Random random = new Random(seed);
+        int[] sources = new int[Math.min(sampleSize, graph.vertexCount())];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(graph.vertexCount());
+        }
+        return sources;
+    }
+
+    private static int farthest(int[] dist) {
+        int farthest = 0;
+        for (int v = 0; v < dist.length; v++) {
+            if (dist[v] != Integer.MAX_VALUE && (dist[farthest] == Integer.MAX_VALUE || dist[v] > dist[farthest])) {
+                farthest = v;
+            }
+        }
+        return farthest;
+    }
+
+    private static int eccentricity(int[] dist) {
+        int max = 0;
+        for (int d : dist) {
+            if (d != Integer.MAX_VALUE) {
+                max = Math.max(max, d);
+            }
+        }
+        return max;
+    }
+
+    //levels[i] holds the vertices at distance i
+    private static int[][] levels(int[] dist, int depth) {
+        int[] size = new int[depth + 1];
+        for (int d : dist) {
+            if (d != Integer.MAX_VALUE) {
+                size[d]++;
+            }
+        }
+        int[][] levels = new int[depth + 1][];
+        for (int i = 0; i <= depth; i++) {
+            levels[i] = new int[size[i]];
+            size[i] = 0;
+        }
+        for (int v = 0; v < dist.length; v++) {
+            if (dist[v] != Integer.MAX_VALUE) {
+                levels[dist[v]][size[dist[v]]++] = v;
+            }
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,217 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/*
+ * 合成大图生成器, 用于压力测试: Erdős–Rényi, R-MAT, 二维网格, Barabási–Albert
+ *
+ * The random choices of edge e are drawn from a hash of (seed, e) instead of a shared Random,
+ * so every generator needs no memory, replays exactly, and can start at any edge.
+ */
+public class GraphGenerator {
+
+    /**
+     * G(n, m): every edge joins two distinct uniformly random vertices. Parallel edges are possible.
+     * @param vertexCount the number of vertices, at least 2
+     * @param edgeCount the number of edges
+     * @param seed the random seed
+     */
+    public static EdgeSource erdosRenyi(int vertexCount, long edgeCount, long seed) {
+        if (vertexCount < 2) {
+            throw new IllegalArgumentException("vertexCount must be at least 2: " + vertexCount);
+        }
+        if (edgeCount < 0) {
+            throw new IllegalArgumentException("Negative edge count: " + edgeCount);
+        }
+        return new Generated(vertexCount, edgeCount) {
+            @Override
+            public void forEachEdge(EdgeSink sink) {
+                for (long e = 0; e < edgeCount; e++) {
+                    long bits = mix(seed, e);
+                    int from = bounded(bits, vertexCount);
+                    int to = bounded(mix(seed, ~e), vertexCount - 1);
+                    sink.accept(from, to >= from ? to + 1 : to);//skip the self loop
+                }
+            }
+        };
+    }
+
+    /**
+     * R-MAT / Kronecker graph over 2^scale vertices: each edge picks one quadrant of the adjacency matrix
+     * per bit with probabilities a, b, c and 1 - a - b - c, which gives a skewed, power law like degree
+     * distribution. The Graph500 parameters are a = 0.57, b = c = 0.19.
+     * @param scale log2 of the number of vertices, at most 30
+     * @param edgeFactor edges per vertex
+     * @param a probability of the top left quadrant
+     * @param b probability of the top right quadrant
+     * @param c probability of the bottom left quadrant
+     * @param seed the random seed
+     */
+    public static EdgeSource rmat(int scale, int edgeFactor, double a, double b, double c, long seed) {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("scale must be between 1 and 30: " + scale);
+        }
+        int vertexCount = 1 << scale;
+        long edgeCount = (long) edgeFactor * vertexCount;
+        //the quadrant thresholds on 16 random bits
+        int ab = (int) (a * 65536), abb = (int) ((a + b) * 65536), abbc = (int) ((a + b + c) * 65536);
+        return new Generated(vertexCount, edgeCount) {
+            @Override
+            public void forEachEdge(EdgeSink sink) {
+                for (long e = 0; e < edgeCount; e++) {
+                    int from = 0, to = 0;
+                    long edgeHash = mix(seed, e);
+                    long bits = 0;
+                    for (int bit = 0; bit < scale; bit++) {
+                        //16 random bits per level, one hash covers four levels; hashing the edge hash again
+                        //keeps the streams of nearby seeds unrelated
+                        if ((bit & 3) == 0) {
+                            bits = mix(edgeHash, bit);
+                        }
+                        int p = (int) (bits & 0xFFFF);
+                        bits >>>= 16;
+                        //quadrant 0: top left, 1: top right, 2: bottom left, 3: bottom right, without branches
+                        int quadrant = (ab - 1 - p >>> 31) + (abb - 1 - p >>> 31) + (abbc - 1 - p >>> 31);
+                        from |= (quadrant >>> 1) << bit;
+                        to |= (quadrant & 1) << bit;
+                    }
+                    sink.accept(from, to);
+                }
+            }
+        };
+    }
+
+    /**
+     * 2D grid, vertex r * columns + c is joined to its right and lower neighbours.
+     * @param rows the number of rows
+     * @param columns the number of columns
+     */
+    public static EdgeSource grid(int rows, int columns) {
+        long vertexCount = (long) rows * columns;
+        if (vertexCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices: " + vertexCount);
+        }
+        long edgeCount = (long) rows * (columns - 1) + (long) (rows - 1) * columns;
+        return new Generated((int) vertexCount, edgeCount) {
+            @Override
+            public void forEachEdge(EdgeSink sink) {
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < columns; c++) {
+                        int v = r * columns + c;
+                        if (c + 1 < columns) {
+                            sink.accept(v, v + 1);
+                        }
+                        if (r + 1 < rows) {
+                            sink.accept(v, v + columns);
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Barabási–Albert preferential attachment: vertex v = 1, 2, ... joins edgesPerVertex edges to earlier
+     * vertices, picked in proportion to their degree by copying an end point of a uniformly random earlier edge.
+     * The second end point of an edge is recomputed from its hash when it is copied, so no edge is stored.
+     * @param vertexCount the number of vertices
+     * @param edgesPerVertex the edges added with every new vertex
+     * @param seed the random seed
+     */
+    public static EdgeSource barabasiAlbert(int vertexCount, int edgesPerVertex, long seed) {
+        long edgeCount = (long) (vertexCount - 1) * edgesPerVertex;
+        return new Generated(vertexCount, edgeCount) {
+            @Override
+            public void forEachEdge(EdgeSink sink) {
+                for (long e = 0; e < edgeCount; e++) {
+                    sink.accept(attachedVertex(e, edgesPerVertex), attachmentTarget(e, edgesPerVertex, seed));
+                }
+            }
+        };
+    }
+
+    //the new vertex which edge e belongs to
+    private static int attachedVertex(long e, int edgesPerVertex) {
+        return (int) (e / edgesPerVertex) + 1;
+    }
+
+    /*
+     * The earlier vertex of edge e: half of the time the new vertex of a random edge j of an earlier vertex,
+     * otherwise the earlier vertex of j. The edges of the vertex being attached are never drawn, so the
+     * target is always an earlier vertex. Each step halves the chance of going on, so the loop is short.
+     */
+    private static int attachmentTarget(long e, int edgesPerVertex, long seed) {
+        while (true) {
+            long earlierEdges = e / edgesPerVertex * edgesPerVertex;// The edges of vertices 1 .. attachedVertex(e) - 1
+            if (earlierEdges == 0) {
+                return 0;//the edges of vertex 1 join it to vertex 0
+            }
+            long bits = mix(seed, e);
+            long j = Long.remainderUnsigned(bits >>> 1, earlierEdges);
+            if ((bits & 1) == 0) {
+                return attachedVertex(j, edgesPerVertex);
+            }
+            e = j;
+        }
+    }
+
+    private abstract static class Generated implements EdgeSource {
+        private final int vertexCount;
+        private final long edgeCount;
+
+        Generated(int vertexCount, long edgeCount) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+        }
+
+        @Override
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        @Override
+        public long edgeCount() {
+            return edgeCount;
+        }
+    }
+
+    //SplitMix64 finaliser of seed and index, an independent looking 64 bit value for every pair
+    static long mix(long seed, long index) {
+        long z = seed * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L + 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    //uniform in [0, bound)
+    private static int bounded(long bits, int bound) {
+        return (int) (((bits >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Write a generated graph to a binary edge file.
+     * Usage: GraphGenerator er n m seed file | rmat scale edgeFactor seed file | grid rows columns file | ba n k seed file
+     */
+    public static void main(String[] args) throws IOException {
+        EdgeSource source;
+        switch (args[0]) {
+            case "er":
+                source = erdosRenyi(Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]));
+                break;
+            case "rmat":
+                source = rmat(Integer.parseInt(args[1]), Integer.parseInt(args[2]), 0.57, 0.19, 0.19, Long.parseLong(args[3]));
+                break;
+            case "grid":
+                source = grid(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+                break;
+            case "ba":
+                source = barabasiAlbert(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + args[0]);
+        }
+        BinaryEdgeFile.write(source, Paths.get(args[args.length - 1]));
+        System.out.println(source.vertexCount() + " vertices, " + source.edgeCount() + " edges");
+    }
+}
@@ -0,0 +1,151 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * CsrGraph的二进制快照: 写一次, 之后通过内存映射快速打开
+ *
+ * Layout, little endian:
+ *   int magic "CSRG", int version, int flags (bit 0: weighted), int vertexCount, long targetCount
+ *   int[vertexCount + 1] offsets
+ *   int[targetCount] targets
+ *   int[targetCount] weights, only when weighted
+ */
+public class GraphSnapshot {
+
+    static final int MAGIC = 0x43535247;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    private static final int FLAG_WEIGHTED = 1;
+
+    //Sections are mapped and copied in windows of this many ints, one mapping may not exceed 2GB
+    private static final int WINDOW_INTS = 1 << 28;
+
+    /**
+     * Write the graph to a snapshot file, replacing the file if it exists.
+     * @param graph the graph
+     * @param file the snapshot file
+     * @throws IOException if the file can not be written
+     */
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(graph.isWeighted() ? FLAG_WEIGHTED : 0)
+                    .putInt(graph.vertexCount()).putLong(graph.targets.length).flip();
+            writeFully(channel, header);
+            writeInts(channel, graph.offsets);
+            writeInts(channel, graph.targets);
+            if (graph.isWeighted()) {
+                writeInts(channel, graph.weights);
+            }
+        }
+    }
+
+    /**
+     * Open a snapshot. Every section is memory mapped and bulk copied into the arrays of the graph,
+     * without parsing or rebuilding anything.
+     * @param file the snapshot file
+     * @return the graph stored in the snapshot
+     * @throws IOException if the file can not be read, is not a snapshot of a supported version or its arrays
+     *                     do not form a valid graph
+     */
+    public static CsrGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported graph snapshot version " + version + ": " + file);
+            }
+            boolean weighted = (header.getInt() & FLAG_WEIGHTED) != 0;
+            int vertexCount = header.getInt();
+            long targetCount = header.getLong();
+            if (vertexCount < 0 || targetCount < 0 || targetCount > Integer.MAX_VALUE - 8) {
+                throw new IOException("Corrupt graph snapshot header: " + file);
+            }
+            long expected = HEADER_BYTES + 4L * (vertexCount + 1) + 4L * targetCount * (weighted ? 2 : 1);
+            if (channel.size() != expected) {
+                throw new IOException("Truncated graph snapshot, expected " + expected + " bytes: " + file);
+            }
+
+            long position = HEADER_BYTES;
+            int[] offsets = readInts(channel, position, vertexCount + 1);
+            position += 4L * offsets.length;
+            int[] targets = readInts(channel, position, (int) targetCount);
+            position += 4L * targets.length;
+            int[] weights = weighted ? readInts(channel, position, (int) targetCount) : null;
+            validate(offsets, targets, weights, file);
+            return new CsrGraph(offsets, targets, weights);
+        }
+    }
+
+    //a corrupt body would otherwise only show up deep inside a search, as a wrong result or an out of bounds index
+    private static void validate(int[] offsets, int[] targets, int[] weights, Path file) throws IOException {
+        int n = offsets.length - 1;
+        if (offsets[0] != 0 || offsets[n] != targets.length) {
+            throw new IOException("Corrupt graph snapshot, offsets do not span the targets: " + file);
+        }
+        for (int v = 0; v < n; v++) {
+            if (offsets[v + 1] < offsets[v]) {
+                throw new IOException("Corrupt graph snapshot, offsets decrease at vertex " + v + ": " + file);
+            }
+        }
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] < 0 || targets[i] >= n) {
+                throw new IOException("Corrupt graph snapshot, target " + targets[i] + " out of range at " + i + ": " + file);
+            }
+        }
+        if (weights != null) {
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] < 0) {
+                    throw new IOException("Corrupt graph snapshot, negative weight at " + i + ": " + file);
+                }
+            }
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        for (int done = 0; done < count; ) {
+            int window = Math.min(WINDOW_INTS, count - done);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * done, 4L * window);
+            IntBuffer ints = mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ints.get(values, done, window);
+            done += window;
+        }
+        return values;
+    }
+
+    private static void writeInts(FileChannel channel, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer ints = buffer.asIntBuffer();
+        for (int done = 0; done < values.length; ) {
+            int chunk = Math.min(ints.capacity(), values.length - done);
+            ints.clear();
+            ints.put(values, done, chunk);
+            buffer.clear().limit(4 * chunk);
+            writeFully(channel, buffer);
+            done += chunk;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package AlgoAssignment2;
+
+/*
+ * A*搜索使用的启发函数: 顶点到目标距离的下界
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    //No information, A* then behaves like Dijkstra's algorithm
+    Heuristic ZERO = (vertex, target) -> 0;
+
+    /**
+     * @param vertex a vertex
+     * @param target the target of the search
+     * @return a lower bound of the distance from the vertex to the target, never more than the real distance
+     */
+    int estimate(int vertex, int target);
+}
@@ -0,0 +1,278 @@
+package AlgoAssignment2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+ * 基于剪枝地标标记(pruned landmark labeling)的任意两点距离索引
+ */
+public class HubLabelIndex {
+
+    static final int MAGIC = 0x4855424C;// "HUBL"
+    static final int VERSION = 1;
+
+    //The first roots prune the most, they are processed one at a time before the parallel batches start
+    private static final int SERIAL_ROOTS = 64;
+    private static final int BATCH_PER_THREAD = 4;
+
+    //The label of vertex v is hubs/dists[labelOffsets[v], labelOffsets[v + 1]), sorted by hub rank.
+    //A hub is stored as its rank, the vertices with the highest degree have the smallest ranks.
+    private final int[] labelOffsets;
+    private final int[] hubs;
+    private final int[] dists;
+
+    private HubLabelIndex(int[] labelOffsets, int[] hubs, int[] dists) {
+        this.labelOffsets = labelOffsets;
+        this.hubs = hubs;
+        this.dists = dists;
+    }
+
+    /**
+     * Build the index with pruned landmark labeling. Vertices become hubs in order of decreasing degree;
+     * the breadth first search from each hub is pruned at every vertex whose distance the labels built so
+     * far already give. After the first roots, a batch of roots is searched in parallel against the labels
+     * of the earlier batches, and their labels are appended in rank order; this only prunes a little less.
+     * @param graph an unweighted graph
+     * @return the index
+     */
+    public static HubLabelIndex build(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] order = ReorderedGraph.degreeDescending(graph);// order[rank] is the vertex with that rank
+
+        Builder builder = new Builder(graph);
+        int workers = Runtime.getRuntime().availableProcessors();
+        int batch = BATCH_PER_THREAD * workers;
+        //worker w searches the roots first + w, first + w + workers, ... of every batch with its own scratch
+        Scratch[] scratch = new Scratch[workers];
+        for (int rank = 0; rank < n; ) {
+            int end = rank < SERIAL_ROOTS ? rank + 1 : Math.min(n, rank + batch);
+            int first = rank;
+            int[][] found = new int[end - first][];
+            IntStream.range(0, Math.min(workers, end - first)).parallel().forEach(w -> {
+                if (scratch[w] == null) {
+                    scratch[w] = new Scratch(n);
+                }
+                for (int r = first + w; r < end; r += workers) {
+                    found[r - first] = builder.prunedSearch(order[r], scratch[w]);
+                }
+            });
+            for (int r = first; r < end; r++) {
+                builder.append(r, found[r - first]);
+            }
+            rank = end;
+        }
+        return builder.finish();
+    }
+
+    /**
+     * Distance query: the smallest sum over the hubs common to both labels, found by merging the labels.
+     * @return the distance between u and v, Integer.MAX_VALUE if they are not connected
+     */
+    public int distance(int u, int v) {
+        int i = labelOffsets[u], iEnd = labelOffsets[u + 1];
+        int j = labelOffsets[v], jEnd = labelOffsets[v + 1];
+        int best = Integer.MAX_VALUE;
+        while (i < iEnd && j < jEnd) {
+            if (hubs[i] == hubs[j]) {
+                best = Math.min(best, dists[i++] + dists[j++]);
+            } else if (hubs[i] < hubs[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the number of (hub, distance) entries over all labels
+     */
+    public long labelEntries() {
+        return hubs.length;
+    }
+
+    /**
+     * Write the index to a file, replacing the file if it exists.
+     * Layout: int magic "HUBL", int version, int vertexCount, int entries, then labelOffsets, hubs and dists.
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(labelOffsets.length - 1);
+            out.writeInt(hubs.length);
+            for (int offset : labelOffsets) {
+                out.writeInt(offset);
+            }
+            for (int hub : hubs) {
+                out.writeInt(hub);
+            }
+            for (int dist : dists) {
+                out.writeInt(dist);
+            }
+        }
+    }
+
+    /**
+     * @param file a file written by {@link #write(Path)}
+     * @return the index stored in the file
+     */
+    public static HubLabelIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a hub label index: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported hub label index version " + version + ": " + file);
+            }
+            int n = in.readInt();
+            int entries = in.readInt();
+            int[] labelOffsets = new int[n + 1];
+            int[] hubs = new int[entries];
+            int[] dists = new int[entries];
+            for (int i = 0; i <= n; i++) {
+                labelOffsets[i] = in.readInt();
+            }
+            for (int i = 0; i < entries; i++) {
+                hubs[i] = in.readInt();
+            }
+            for (int i = 0; i < entries; i++) {
+                dists[i] = in.readInt();
+            }
+            return new HubLabelIndex(labelOffsets, hubs, dists);
+        }
+    }
+
+    /**
+     * The search arrays of one worker: BFS distances, and the distance of the root to each hub of its label.
+     * A search leaves them all at Integer.MAX_VALUE again for the next one.
+     */
+    private static class Scratch {
+        final int[] dist;
+        final int[] rootLabel;
+        final int[] queue;
+
+        Scratch(int vertexCount) {
+            dist = new int[vertexCount];
+            rootLabel = new int[vertexCount];
+            queue = new int[vertexCount];
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            Arrays.fill(rootLabel, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * The labels while they are built, as growable arrays per vertex.
+     */
+    private static class Builder {
+        private final CsrGraph graph;
+        private final int[][] hubs;
+        private final int[][] dists;
+        private final int[] size;
+
+        Builder(CsrGraph graph) {
+            int n = graph.vertexCount();
+            this.graph = graph;
+            hubs = new int[n][];
+            dists = new int[n][];
+            size = new int[n];
+        }
+
+        /*
+         * Breadth first search from the root, pruned at every vertex whose distance to the root the
+         * current labels already give. Returns the (vertex, distance) pairs that need the root as a hub.
+         */
+        int[] prunedSearch(int root, Scratch scratch) {
+            int[] dist = scratch.dist;
+            int[] rootLabel = scratch.rootLabel;
+            int[] queue = scratch.queue;
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            for (int i = 0; i < size[root]; i++) {
+                rootLabel[hubs[root][i]] = dists[root][i];
+            }
+
+            int[] found = new int[16];
+            int foundSize = 0;
+            int head = 0, tail = 0;
+            dist[root] = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                if (coveredDistance(v, rootLabel) <= dist[v]) {
+                    continue;//pruned, the labels already know this distance
+                }
+                if (foundSize + 2 > found.length) {
+                    found = Arrays.copyOf(found, 2 * found.length);
+                }
+                found[foundSize++] = v;
+                found[foundSize++] = dist[v];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = targets[i];
+                    if (dist[w] == Integer.MAX_VALUE) {
+                        dist[w] = dist[v] + 1;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            for (int i = 0; i < tail; i++) {
+                dist[queue[i]] = Integer.MAX_VALUE;
+            }
+            for (int i = 0; i < size[root]; i++) {
+                rootLabel[hubs[root][i]] = Integer.MAX_VALUE;
+            }
+            return Arrays.copyOf(found, foundSize);
+        }
+
+        //the distance from the root to v through the hubs of v's label
+        private int coveredDistance(int v, int[] rootLabel) {
+            int best = Integer.MAX_VALUE;
+            for (int i = 0; i < size[v]; i++) {
+                int toHub = rootLabel[hubs[v][i]];
+                if (toHub != Integer.MAX_VALUE) {
+                    best = Math.min(best, toHub + dists[v][i]);
+                }
+            }
+            return best;
+        }
+
+        //add the root, as hub of the given rank, to the label of every vertex its search found
+        void append(int rank, int[] found) {
+            for (int k = 0; k < found.length; k += 2) {
+                int v = found[k];
+                if (hubs[v] == null) {
+                    hubs[v] = new int[4];
+                    dists[v] = new int[4];
+                } else if (size[v] == hubs[v].length) {
+                    hubs[v] = Arrays.copyOf(hubs[v], 2 * size[v]);
+                    dists[v] = Arrays.copyOf(dists[v], 2 * size[v]);
+                }
+                hubs[v][size[v]] = rank;
+                dists[v][size[v]++] = found[k + 1];
+            }
+        }
+
+        HubLabelIndex finish() {
+            int n = size.length;
+            int[] labelOffsets = CsrGraph.prefixSum(size);
+            int[] allHubs = new int[labelOffsets[n]];
+            int[] allDists = new int[labelOffsets[n]];
+            for (int v = 0; v < n; v++) {
+                if (size[v] > 0) {
+                    System.arraycopy(hubs[v], 0, allHubs, labelOffsets[v], size[v]);
+                    System.arraycopy(dists[v], 0, allDists, labelOffsets[v], size[v]);
+                }
+            }
+            return new HubLabelIndex(labelOffsets, allHubs, allDists);
+        }
+    }
+}
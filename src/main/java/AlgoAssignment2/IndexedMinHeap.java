@@ -0,0 +1,105 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 以顶点编号为索引的二叉最小堆, 支持decrease-key
+ */
+class IndexedMinHeap {
+
+    private final int[] heap;// heap[i] is the vertex stored at heap slot i
+    private final int[] position;// position[v] is the heap slot of v, -1 if v is not in the heap
+    private final int[] key;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int v) {
+        return position[v] >= 0;
+    }
+
+    int key(int v) {
+        return key[v];
+    }
+
+    /**
+     * Insert v, or lower its key if it is already in the heap with a larger one.
+     */
+    void insertOrDecrease(int v, int newKey) {
+        if (position[v] < 0) {
+            heap[size] = v;
+            position[v] = size;
+            key[v] = newKey;
+            siftUp(size++);
+        } else if (newKey < key[v]) {
+            key[v] = newKey;
+            siftUp(position[v]);
+        }
+    }
+
+    /**
+     * Remove and return the vertex with the smallest key.
+     */
+    int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int v = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (key[heap[parent]] <= key[v]) {
+                break;
+            }
+            heap[slot] = heap[parent];
+            position[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = v;
+        position[v] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int v = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) {
+                child++;
+            }
+            if (key[heap[child]] >= key[v]) {
+                break;
+            }
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = v;
+        position[v] = slot;
+    }
+}
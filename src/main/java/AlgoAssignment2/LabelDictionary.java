@@ -0,0 +1,132 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 顶点标识字典: 把外部的数字标识映射为从0开始的连续int编号, 只接受数字标识(文本标识须为十进制数)
+ */
+public class LabelDictionary {
+
+    private static final long EMPTY = Long.MIN_VALUE;// Marks a free slot, so Long.MIN_VALUE can not be a label
+
+    //Open addressing table with linear probing: keys[slot] is a label and ids[slot] its dense id
+    private long[] keys;
+    private int[] ids;
+    private long[] labels;// labels[id] is the external label of the id
+    private int size;
+
+    public LabelDictionary() {
+        this(16);
+    }
+
+    /**
+     * @param expectedLabels the number of labels expected, to size the table once
+     */
+    public LabelDictionary(int expectedLabels) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedLabels * 2 - 1)) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        ids = new int[capacity];
+        labels = new long[Math.max(16, expectedLabels)];
+    }
+
+    /**
+     * @param label an external label
+     * @return the dense id of the label, a new id equal to size() - 1 when the label is seen for the first time
+     */
+    public int intern(long label) {
+        if (label == EMPTY) {
+            throw new IllegalArgumentException("Unsupported label: " + label);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(label) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == label) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = size++;
+        keys[slot] = label;
+        ids[slot] = id;
+        if (id == labels.length) {
+            labels = Arrays.copyOf(labels, 2 * id);
+        }
+        labels[id] = label;
+        if (2 * size > keys.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * @param label an external label
+     * @return the dense id of the label, -1 if it was never interned
+     */
+    public int id(long label) {
+        int mask = keys.length - 1;
+        int slot = hash(label) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == label) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @param label an external label written in decimal, such as the vertex labels of NonDirectedGraph
+     * @return the dense id of the label, -1 if it was never interned
+     * @throws IllegalArgumentException if the label is not a decimal number
+     */
+    public int id(String label) {
+        long value;
+        try {
+            value = Long.parseLong(label.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a numeric vertex label: \"" + label + "\"", e);
+        }
+        return id(value);
+    }
+
+    /**
+     * @param id a dense id
+     * @return the external label of the id
+     */
+    public long label(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No label with id " + id);
+        }
+        return labels[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldIds = ids;
+        keys = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        ids = new int[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+    //spread the bits of the label, consecutive labels would otherwise fill consecutive slots
+    private static int hash(long label) {
+        long h = label * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,45 @@
+package AlgoAssignment2;
+
+/*
+ * 带外部顶点标识的CsrGraph: 内部算法使用连续编号, 只在接口处转换标识
+ */
+public class LabeledGraph {
+
+    private final CsrGraph graph;
+    private final LabelDictionary labels;
+
+    public LabeledGraph(CsrGraph graph, LabelDictionary labels) {
+        this.graph = graph;
+        this.labels = labels;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public LabelDictionary labels() {
+        return labels;
+    }
+
+    /**
+     * @param label an external vertex label
+     * @return the vertex id used by the graph
+     * @throws IllegalArgumentException if the label is not a vertex of the graph
+     */
+    public int vertex(long label) {
+        int id = labels.id(label);
+        if (id < 0) {
+            throw new IllegalArgumentException("Unknown vertex: " + label);
+        }
+        return id;
+    }
+
+    /**
+     * @param sourceLabel the external label of the source
+     * @param targetLabel the external label of the target
+     * @return the distance between the two vertices, Integer.MAX_VALUE if they are not connected
+     */
+    public int findShortestPath(long sourceLabel, long targetLabel) {
+        return graph.findShortestPath(vertex(sourceLabel), vertex(targetLabel));
+    }
+}
@@ -0,0 +1,68 @@
+package AlgoAssignment2;
+
+/*
+ * ALT启发函数: 预先计算到若干地标的距离, 用三角不等式给出下界
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    private final int[] landmarks;
+    private final int[][] distances;// distances[l][v] is the distance from landmarks[l] to v
+
+    private LandmarkHeuristic(int[] landmarks, int[][] distances) {
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /**
+     * Pick the landmarks by farthest point selection: each new landmark is the vertex farthest from the
+     * landmarks chosen so far, which spreads them over the border of the graph where the bounds are tight.
+     * Distances come from the BFS engine on unweighted graphs and from Dijkstra's algorithm on weighted ones.
+     * @param graph the graph
+     * @param landmarkCount the number of landmarks
+     * @param firstLandmark the vertex the selection starts from, it is replaced by the vertex farthest from it
+     * @return the heuristic
+     */
+    public static LandmarkHeuristic build(CsrGraph graph, int landmarkCount, int firstLandmark) {
+        int n = graph.vertexCount();
+        int[] landmarks = new int[landmarkCount];
+        int[][] distances = new int[landmarkCount][];
+        int[] nearest = shortestPaths(graph, firstLandmark);// Distance to the nearest landmark so far
+        for (int l = 0; l < landmarkCount; l++) {
+            int farthest = firstLandmark;
+            for (int v = 0; v < n; v++) {
+                if (nearest[v] != Integer.MAX_VALUE && nearest[v] > nearest[farthest]) {
+                    farthest = v;
+                }
+            }
+            landmarks[l] = farthest;
+            distances[l] = shortestPaths(graph, farthest);
+            for (int v = 0; v < n; v++) {
+                nearest[v] = l == 0 ? distances[l][v] : Math.min(nearest[v], distances[l][v]);
+            }
+        }
+        return new LandmarkHeuristic(landmarks, distances);
+    }
+
+    private static int[] shortestPaths(CsrGraph graph, int source) {
+        return graph.isWeighted() ? Dijkstra.shortestPaths(graph, source) : graph.unweightedShortestPath(source);
+    }
+
+    /**
+     * By the triangle inequality d(v, t) >= |d(l, t) - d(l, v)| for every landmark l.
+     */
+    @Override
+    public int estimate(int vertex, int target) {
+        int best = 0;
+        for (int[] dist : distances) {
+            int toVertex = dist[vertex], toTarget = dist[target];
+            if (toVertex != Integer.MAX_VALUE && toTarget != Integer.MAX_VALUE) {
+                best = Math.max(best, Math.abs(toTarget - toVertex));
+            }
+        }
+        return best;
+    }
+
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+}
@@ -0,0 +1,95 @@
+package AlgoAssignment2;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * 进程内的FrontierTransport: 所有worker是同一个JVM中的线程, 用屏障同步
+ */
+public class LoopbackTransport implements FrontierTransport {
+
+    private final int workerCount;
+    private final CyclicBarrier barrier;
+    private final int[][][] mailbox;// mailbox[to][from] is the batch sent from worker "from" to worker "to"
+    private final int[][] mailboxLength;
+    private final boolean[] active;
+    private volatile boolean aborted;// Set once a worker failed, every later collective call fails too
+
+    public LoopbackTransport(int workerCount) {
+        this.workerCount = workerCount;
+        this.barrier = new CyclicBarrier(workerCount);
+        this.mailbox = new int[workerCount][workerCount][];
+        this.mailboxLength = new int[workerCount][workerCount];
+        this.active = new boolean[workerCount];
+    }
+
+    @Override
+    public int workerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public int[] exchange(int worker, int[][] outgoing, int[] lengths) throws InterruptedException {
+        for (int to = 0; to < workerCount; to++) {
+            mailbox[to][worker] = outgoing[to];
+            mailboxLength[to][worker] = outgoing[to] == null ? 0 : lengths[to];
+        }
+        await();//every batch is posted
+        int total = 0;
+        for (int from = 0; from < workerCount; from++) {
+            total += mailboxLength[worker][from];
+        }
+        int[] incoming = new int[total];
+        int position = 0;
+        for (int from = 0; from < workerCount; from++) {
+            if (mailboxLength[worker][from] > 0) {
+                System.arraycopy(mailbox[worker][from], 0, incoming, position, mailboxLength[worker][from]);
+                position += mailboxLength[worker][from];
+            }
+        }
+        await();//every batch is copied, the senders may reuse their buffers
+        return incoming;
+    }
+
+    @Override
+    public boolean anyActive(int worker, boolean active) throws InterruptedException {
+        this.active[worker] = active;
+        await();
+        boolean any = false;
+        for (boolean a : this.active) {
+            any |= a;
+        }
+        await();//everyone has read the flags before the next level writes them
+        return any;
+    }
+
+    @Override
+    public void abort(int worker) {
+        aborted = true;
+        //A zero timeout await breaks the barrier for good: the waiting workers get a BrokenBarrierException
+        //and so does every later await. If the others were all waiting it trips instead, and they see the flag.
+        try {
+            barrier.await(0, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | BrokenBarrierException e) {
+            //expected, the barrier is broken
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();//the barrier is broken as well
+        }
+    }
+
+    private void await() throws InterruptedException {
+        if (aborted) {
+            throw new IllegalStateException("Another worker failed");
+        }
+        try {
+            barrier.await();
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Another worker failed", e);
+        }
+        if (aborted) {
+            throw new IllegalStateException("Another worker failed");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 局部敏感哈希索引: 按MinHash签名分段分桶, 只比较落入相同桶的集合
+ */
+public class LshIndex {
+
+    //The largest array length the JVM allows
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final MinHash minHash;
+    private final int bands;
+    private final int rows;
+
+    //Every band maps the hash of its rows to a bucket id; the sets of a bucket form a linked list:
+    //head[band][bucket] is the last entry added and next[entry] the one before, entry = set * bands + band.
+    private final LabelDictionary[] buckets;
+    private final int[][] head;
+    private int[] next;
+    private long[] signatures;// The signature of set s is signatures[s * k] ... signatures[s * k + k - 1]
+    private int size;
+
+    //query state, a set is a candidate once per query when seen[set] == epoch
+    private int[] seen;
+    private int epoch;
+    private final long[] querySignature;
+
+    /**
+     * @param bands the number of bands
+     * @param rows the number of signature slots hashed together in every band
+     * @param seed the seed of the MinHash functions
+     */
+    public LshIndex(int bands, int rows, long seed) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Bands and rows must be positive: " + bands + ", " + rows);
+        }
+        this.minHash = new MinHash(bands * rows, seed);
+        this.bands = bands;
+        this.rows = rows;
+        buckets = new LabelDictionary[bands];
+        head = new int[bands][];
+        for (int b = 0; b < bands; b++) {
+            buckets[b] = new LabelDictionary();
+            head[b] = new int[16];
+        }
+        next = new int[16 * bands];
+        signatures = new long[16 * bands * rows];
+        seen = new int[16];
+        querySignature = new long[bands * rows];
+    }
+
+    /**
+     * Choose the bands and rows of a signature of about k slots so that sets with Jaccard similarity
+     * above the threshold share a bucket with high probability: a pair of similarity j becomes a
+     * candidate with probability 1 - (1 - j^rows)^bands, whose steepest point is near (1 / bands)^(1 / rows).
+     * @param threshold the similarity of interest, in (0, 1]
+     * @param k the signature length to spend
+     * @param seed the seed of the MinHash functions
+     * @return the index
+     */
+    public static LshIndex forThreshold(double threshold, int k, long seed) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("The threshold must be in (0, 1]: " + threshold);
+        }
+        int bestRows = 1;
+        double bestError = Double.MAX_VALUE;
+        for (int rows = 1; rows <= k; rows++) {
+            int bands = k / rows;
+            double error = Math.abs(Math.pow(1.0 / bands, 1.0 / rows) - threshold);
+            //a slightly lower cut loses fewer similar pairs, the signatures filter the rest
+            if (Math.pow(1.0 / bands, 1.0 / rows) > threshold) {
+                error *= 2;
+            }
+            if (error < bestError) {
+                bestError = error;
+                bestRows = rows;
+            }
+        }
+        return new LshIndex(k / bestRows, bestRows, seed);
+    }
+
+    public MinHash minHash() {
+        return minHash;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param tokens the token ids of a set
+     * @return the id of the set, the number of sets added before it
+     * @throws IllegalStateException if the signatures of one more set do not fit in the index
+     */
+    public int add(long[] tokens) {
+        int k = bands * rows;
+        if (size == seen.length) {
+            grow();
+        }
+        int set = size++;
+        minHash.signature(tokens, tokens.length, querySignature);
+        System.arraycopy(querySignature, 0, signatures, offset(set), k);
+        for (int b = 0; b < bands; b++) {
+            int bucketCount = buckets[b].size();
+            int bucket = buckets[b].intern(bandHash(querySignature, b));
+            if (bucket == bucketCount) {//a new bucket, its list is empty
+                if (bucket == head[b].length) {
+                    head[b] = Arrays.copyOf(head[b], 2 * bucket);
+                }
+                head[b][bucket] = -1;
+            }
+            int entry = set * bands + b;
+            next[entry] = head[b][bucket];
+            head[b][bucket] = entry;
+        }
+        return set;
+    }
+
+    //double the room for sets, the flat signature array bounds how many sets the index can hold
+    private void grow() {
+        int k = bands * rows;
+        long maxSets = MAX_ARRAY_LENGTH / k;
+        if (seen.length >= maxSets) {
+            throw new IllegalStateException("The index is full: " + seen.length + " sets of " + k + " signature slots");
+        }
+        int capacity = (int) Math.min(2L * seen.length, maxSets);
+        signatures = Arrays.copyOf(signatures, Math.toIntExact((long) capacity * k));
+        next = Arrays.copyOf(next, Math.toIntExact((long) capacity * bands));
+        seen = Arrays.copyOf(seen, capacity);
+    }
+
+    //the position of the signature of a set in the flat array
+    private int offset(int set) {
+        return Math.toIntExact((long) set * (bands * rows));
+    }
+
+    /**
+     * @param tokens the tokens of a set, hashed with {@link MinHash#hash(String)}
+     * @return the id of the set
+     */
+    public int add(String[] tokens) {
+        return add(hash(tokens));
+    }
+
+    /**
+     * Find the stored sets similar to the query. Only the sets sharing a bucket with the query in some
+     * band are compared, by their signatures, so the cost follows the number of candidates, not the size
+     * of the index. A set whose similarity is close to the threshold may be missed.
+     * Queries reuse the state of the index, so it must not be shared between threads.
+     * @param tokens the token ids of the query set
+     * @param threshold the minimum estimated Jaccard similarity
+     * @return the ids of the sets whose estimated similarity is at least the threshold, in increasing order
+     */
+    public int[] query(long[] tokens, double threshold) {
+        int k = bands * rows;
+        minHash.signature(tokens, tokens.length, querySignature);
+        if (++epoch == 0) {
+            Arrays.fill(seen, 0);
+            epoch = 1;
+        }
+        int[] result = new int[16];
+        int count = 0;
+        for (int b = 0; b < bands; b++) {
+            int bucket = buckets[b].id(bandHash(querySignature, b));
+            if (bucket < 0) {
+                continue;
+            }
+            for (int entry = head[b][bucket]; entry >= 0; entry = next[entry]) {
+                int set = entry / bands;
+                if (seen[set] == epoch) {
+                    continue;
+                }
+                seen[set] = epoch;
+                int equal = 0;
+                for (int i = 0, base = offset(set); i < k; i++) {
+                    if (signatures[base + i] == querySignature[i]) {
+                        equal++;
+                    }
+                }
+                if (equal >= threshold * k) {
+                    if (count == result.length) {
+                        result = Arrays.copyOf(result, 2 * count);
+                    }
+                    result[count++] = set;
+                }
+            }
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Find the stored sets similar to a query of string tokens, hashed the same way as {@link #add(String[])}.
+     * @param tokens the tokens of the query set
+     * @param threshold the minimum estimated Jaccard similarity
+     * @return the ids of the sets whose estimated similarity is at least the threshold, in increasing order
+     */
+    public int[] query(String[] tokens, double threshold) {
+        return query(hash(tokens), threshold);
+    }
+
+    //the token ids of string tokens
+    private static long[] hash(String[] tokens) {
+        long[] ids = new long[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            ids[i] = MinHash.hash(tokens[i]);
+        }
+        return ids;
+    }
+
+    //hash of the rows of one band, Long.MIN_VALUE is not a valid key of the dictionary
+    private long bandHash(long[] signature, int band) {
+        long h = band;
+        for (int i = band * rows, end = i + rows; i < end; i++) {
+            h = MinHash.mix(h ^ signature[i]);
+        }
+        return h == Long.MIN_VALUE ? 0 : h;
+    }
+}
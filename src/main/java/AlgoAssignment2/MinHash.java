@@ -0,0 +1,115 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * MinHash签名: 用定长long[]估计两个集合的Jaccard相似度
+ */
+public class MinHash {
+
+    private final int k;
+    //h_i(x) = (mix(x) ^ xor[i]) * multiplier[i], one multiply per token and signature slot
+    private final long[] xor;
+    private final long[] multiplier;
+
+    /**
+     * @param k the length of every signature, the standard error of an estimate is about 1 / sqrt(k)
+     * @param seed the seed of the hash functions, signatures are only comparable under the same k and seed
+     */
+    public MinHash(int k, long seed) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The signature length must be positive: " + k);
+        }
+        this.k = k;
+        xor = new long[k];
+        multiplier = new long[k];
+        for (int i = 0; i < k; i++) {
+            xor[i] = mix(seed + 2L * i);
+            multiplier[i] = mix(seed + 2L * i + 1) | 1;//odd, so the multiplication is a bijection
+        }
+    }
+
+    public int k() {
+        return k;
+    }
+
+    /**
+     * @param tokens the token ids of a set, duplicates do not change the signature
+     * @return the signature of the set
+     */
+    public long[] signature(long[] tokens) {
+        long[] signature = new long[k];
+        signature(tokens, tokens.length, signature);
+        return signature;
+    }
+
+    /**
+     * @param tokens the tokens of a set, hashed with {@link #hash(String)}
+     * @return the signature of the set
+     */
+    public long[] signature(String[] tokens) {
+        long[] ids = new long[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            ids[i] = hash(tokens[i]);
+        }
+        return signature(ids);
+    }
+
+    /**
+     * Compute the signature into an existing array, without allocating.
+     * @param tokens the token ids of a set
+     * @param length the number of tokens used from the array
+     * @param signature receives the k minimum hash values, an empty set gives Long.MAX_VALUE everywhere
+     */
+    public void signature(long[] tokens, int length, long[] signature) {
+        Arrays.fill(signature, 0, k, Long.MAX_VALUE);
+        for (int t = 0; t < length; t++) {
+            long h = mix(tokens[t]);
+            for (int i = 0; i < k; i++) {
+                long value = (h ^ xor[i]) * multiplier[i];
+                value ^= value >>> 29;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param a a signature
+     * @param b a signature of the same length and hash functions
+     * @return the estimated Jaccard similarity, the fraction of slots where the two signatures agree
+     */
+    public static double similarity(long[] a, long[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Signatures of different lengths: " + a.length + ", " + b.length);
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * 64-bit FNV-1a over the chars of the token, finished with a mixer so that similar tokens spread out.
+     * @param token a token
+     * @return its 64-bit id
+     */
+    public static long hash(String token) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            h = (h ^ token.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    //SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
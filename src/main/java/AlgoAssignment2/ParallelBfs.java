@@ -0,0 +1,116 @@
+package AlgoAssignment2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 层同步的并行广度优先搜索
+ */
+class ParallelBfs {
+
+    //Frontiers smaller than this are expanded on the calling thread
+    private static final int SERIAL_FRONTIER = 2048;
+    //The number of frontier vertices expanded by one fork-join leaf
+    private static final int CHUNK = 512;
+
+    //Atomic access to the elements of the int[] distance array, a vertex is claimed by CAS from Integer.MAX_VALUE
+    private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final CsrGraph graph;
+    private final int[] dist;
+    private int[] frontier;
+    private int[] nextFrontier;
+    private final AtomicInteger nextSize = new AtomicInteger();
+
+    private ParallelBfs(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        dist = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        frontier = new int[n];
+        nextFrontier = new int[n];
+    }
+
+    /**
+     * Expand the graph level by level from the source. Every frontier is split in chunks which are
+     * expanded in parallel; a vertex joins the next frontier only by winning the CAS on its distance,
+     * so the distances are exactly the ones of the serial BFS.
+     * @param graph the graph
+     * @param source the source vertex
+     * @param pool the pool running the chunks
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    static int[] unweightedShortestPath(CsrGraph graph, int source, ForkJoinPool pool) {
+        ParallelBfs bfs = new ParallelBfs(graph);
+        bfs.dist[source] = 0;
+        bfs.frontier[0] = source;
+        int frontierSize = 1;
+        int level = 0;
+        while (frontierSize > 0) {
+            bfs.nextSize.set(0);
+            if (frontierSize < SERIAL_FRONTIER) {
+                bfs.expand(0, frontierSize, level + 1);
+            } else {
+                pool.invoke(bfs.new ExpandTask(0, frontierSize, level + 1));
+            }
+            int[] swap = bfs.frontier;
+            bfs.frontier = bfs.nextFrontier;
+            bfs.nextFrontier = swap;
+            frontierSize = bfs.nextSize.get();
+            level++;
+        }
+        return bfs.dist;
+    }
+
+    //expand frontier[from, to), the claimed vertices are appended to nextFrontier in one block
+    private void expand(int from, int to, int nextDist) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int edges = 0;
+        for (int i = from; i < to; i++) {
+            int v = frontier[i];
+            edges += offsets[v + 1] - offsets[v];
+        }
+        int[] claimed = new int[Math.min(edges, dist.length)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int v = frontier[i];
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int w = targets[j];
+                if ((int) DIST.getOpaque(dist, w) == Integer.MAX_VALUE
+                        && DIST.compareAndSet(dist, w, Integer.MAX_VALUE, nextDist)) {
+                    claimed[count++] = w;
+                }
+            }
+        }
+        if (count > 0) {
+            System.arraycopy(claimed, 0, nextFrontier, nextSize.getAndAdd(count), count);
+        }
+    }
+
+    private class ExpandTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int nextDist;
+
+        ExpandTask(int from, int to, int nextDist) {
+            this.from = from;
+            this.to = to;
+            this.nextDist = nextDist;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                expand(from, to, nextDist);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ExpandTask(from, middle, nextDist), new ExpandTask(middle, to, nextDist));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package AlgoAssignment2;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+ * 顶点分区的广度优先搜索: 每个worker只保存自己拥有的顶点的邻接表, 通过FrontierTransport交换前沿
+ */
+public class PartitionedBfs {
+
+    /**
+     * The vertices owned by one worker and their neighbour lists. Vertex v belongs to worker
+     * v % workerCount, where it has the local index v / workerCount. A worker builds its partition
+     * with {@link #fromEdgeSource}, reading only its own share of the edges.
+     */
+    public static class Partition {
+        final int worker;
+        final int workerCount;
+        final int vertexCount;// Of the whole graph
+        final int[] offsets;// Over the local indices
+        final int[] targets;// Global vertex ids
+
+        Partition(int worker, int workerCount, int vertexCount, int[] offsets, int[] targets) {
+            this.worker = worker;
+            this.workerCount = workerCount;
+            this.vertexCount = vertexCount;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        int localCount() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Read the part of a graph owned by one worker straight from an edge stream, such as a binary edge
+         * file. The stream is read twice, to count the degrees of the owned vertices and then to fill their
+         * neighbour lists, so the worker never holds more than its own share of the graph.
+         * This is the way to build the partitions of a graph too large for one machine.
+         * @param source the edges of the whole graph
+         * @param worker the worker
+         * @param workerCount the number of workers
+         * @return the partition of the worker
+         * @throws IOException if the source can not be read
+         * @throws IllegalArgumentException if an edge has an end point outside the graph
+         */
+        public static Partition fromEdgeSource(EdgeSource source, int worker, int workerCount) throws IOException {
+            if (workerCount <= 0 || worker < 0 || worker >= workerCount) {
+                throw new IllegalArgumentException("Worker " + worker + " of " + workerCount);
+            }
+            int n = source.vertexCount();
+            int localCount = n <= worker ? 0 : (n - worker + workerCount - 1) / workerCount;
+            int[] offsets = new int[localCount + 1];
+            //count the degree of the owned vertex with local index l in offsets[l + 1]
+            source.forEachEdge((from, to) -> {
+                if (from < 0 || from >= n || to < 0 || to >= n) {
+                    throw new IllegalArgumentException("Edge (" + from + ", " + to + ") outside a graph of " + n + " vertices");
+                }
+                if (from % workerCount == worker) {
+                    offsets[from / workerCount + 1]++;
+                }
+                if (to % workerCount == worker) {
+                    offsets[to / workerCount + 1]++;
+                }
+            });
+            for (int local = 0; local < localCount; local++) {
+                offsets[local + 1] += offsets[local];
+            }
+            int[] targets = new int[offsets[localCount]];
+            int[] next = Arrays.copyOf(offsets, localCount);
+            source.forEachEdge((from, to) -> {
+                if (from % workerCount == worker) {
+                    targets[next[from / workerCount]++] = to;
+                }
+                if (to % workerCount == worker) {
+                    targets[next[to / workerCount]++] = from;
+                }
+            });
+            return new Partition(worker, workerCount, n, offsets, targets);
+        }
+
+        /**
+         * Cut the part of an already built graph owned by one worker. The whole graph is in memory here,
+         * so this is a convenience for tests and small graphs; use {@link #fromEdgeSource} otherwise.
+         * @param graph the whole graph
+         * @param worker the worker
+         * @param workerCount the number of workers
+         * @return the partition of the worker
+         */
+        public static Partition of(CsrGraph graph, int worker, int workerCount) {
+            int n = graph.vertexCount();
+            int localCount = n <= worker ? 0 : (n - worker + workerCount - 1) / workerCount;
+            int[] offsets = new int[localCount + 1];
+            for (int local = 0; local < localCount; local++) {
+                offsets[local + 1] = offsets[local] + graph.degree(local * workerCount + worker);
+            }
+            int[] targets = new int[offsets[localCount]];
+            for (int local = 0; local < localCount; local++) {
+                int v = local * workerCount + worker;
+                System.arraycopy(graph.targets, graph.offsets[v], targets, offsets[local], graph.degree(v));
+            }
+            return new Partition(worker, workerCount, n, offsets, targets);
+        }
+    }
+
+    /**
+     * One worker of the search. It keeps the distances of its own vertices only; every neighbour owned
+     * by another worker is sent to that worker in the batch of the level.
+     */
+    public static class Worker implements Runnable {
+        private final Partition partition;
+        private final FrontierTransport transport;
+        private final int source;
+        private final int[] dist;// Indexed by local index
+        private volatile Throwable failure;
+
+        public Worker(Partition partition, FrontierTransport transport, int source) {
+            this.partition = partition;
+            this.transport = transport;
+            this.source = source;
+            this.dist = new int[partition.localCount()];
+        }
+
+        @Override
+        public void run() {
+            try {
+                search();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+                transport.abort(partition.worker);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                transport.abort(partition.worker);
+                throw e;
+            }
+        }
+
+        private void search() throws InterruptedException {
+            int p = partition.workerCount;
+            int self = partition.worker;
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            int[] frontier = new int[partition.localCount()];
+            int[] next = new int[partition.localCount()];
+            int frontierSize = 0;
+            if (source % p == self) {
+                dist[source / p] = 0;
+                frontier[frontierSize++] = source / p;
+            }
+            int[][] outgoing = new int[p][];
+            int[] lengths = new int[p];
+
+            int level = 0;
+            while (transport.anyActive(self, frontierSize > 0)) {
+                int nextDist = level + 1;
+                int nextSize = 0;
+                Arrays.fill(lengths, 0);
+                for (int i = 0; i < frontierSize; i++) {
+                    int local = frontier[i];
+                    for (int j = partition.offsets[local]; j < partition.offsets[local + 1]; j++) {
+                        int w = partition.targets[j];
+                        int owner = w % p;
+                        if (owner == self) {
+                            if (dist[w / p] == Integer.MAX_VALUE) {
+                                dist[w / p] = nextDist;
+                                next[nextSize++] = w / p;
+                            }
+                        } else {
+                            if (outgoing[owner] == null) {
+                                outgoing[owner] = new int[64];
+                            } else if (lengths[owner] == outgoing[owner].length) {
+                                outgoing[owner] = Arrays.copyOf(outgoing[owner], 2 * lengths[owner]);
+                            }
+                            outgoing[owner][lengths[owner]++] = w;
+                        }
+                    }
+                }
+                for (int w : transport.exchange(self, outgoing, lengths)) {
+                    if (dist[w / p] == Integer.MAX_VALUE) {
+                        dist[w / p] = nextDist;
+                        next[nextSize++] = w / p;
+                    }
+                }
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+                frontierSize = nextSize;
+                level++;
+            }
+        }
+
+        /**
+         * @param vertex a vertex owned by this worker
+         * @return its distance to the source, Integer.MAX_VALUE if it can not be reached
+         */
+        public int distance(int vertex) {
+            return dist[vertex / partition.workerCount];
+        }
+    }
+
+    /**
+     * Partition the graph over the given number of workers and run them as threads of this JVM,
+     * exchanging frontiers through a LoopbackTransport.
+     * @param graph the graph
+     * @param source the source vertex
+     * @param workerCount the number of workers
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     * @throws IllegalArgumentException if the source is not a vertex of the graph or there is no worker
+     */
+    public static int[] unweightedShortestPath(CsrGraph graph, int source, int workerCount) throws InterruptedException {
+        checkArguments(graph.vertexCount(), source, workerCount);
+        Partition[] partitions = new Partition[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            partitions[w] = Partition.of(graph, w, workerCount);
+        }
+        return run(partitions, source);
+    }
+
+    /**
+     * Read the partition of every worker from the edge stream and run the workers as threads of this JVM,
+     * exchanging frontiers through a LoopbackTransport. The whole graph is never built.
+     * @param edges the edges of the graph, read twice per worker
+     * @param source the source vertex
+     * @param workerCount the number of workers
+     * @return the distance of every vertex to the source, Integer.MAX_VALUE if it can not be reached
+     * @throws IOException if the edges can not be read
+     * @throws IllegalArgumentException if the source is not a vertex of the graph or there is no worker
+     */
+    public static int[] unweightedShortestPath(EdgeSource edges, int source, int workerCount)
+            throws IOException, InterruptedException {
+        checkArguments(edges.vertexCount(), source, workerCount);
+        Partition[] partitions = new Partition[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            partitions[w] = Partition.fromEdgeSource(edges, w, workerCount);
+        }
+        return run(partitions, source);
+    }
+
+    private static void checkArguments(int vertexCount, int source, int workerCount) {
+        if (source < 0 || source >= vertexCount) {
+            throw new IllegalArgumentException("Unknown vertex: " + source);
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("The worker count must be positive: " + workerCount);
+        }
+    }
+
+    private static int[] run(Partition[] partitions, int source) throws InterruptedException {
+        int workerCount = partitions.length;
+        LoopbackTransport transport = new LoopbackTransport(workerCount);
+        Worker[] workers = new Worker[workerCount];
+        Thread[] threads = new Thread[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            workers[w] = new Worker(partitions[w], transport, source);
+            threads[w] = new Thread(workers[w], "bfs-worker-" + w);
+            threads[w].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("BFS worker failed", worker.failure);
+            }
+        }
+        int[] dist = new int[partitions[0].vertexCount];
+        for (int v = 0; v < dist.length; v++) {
+            dist[v] = workers[v % workerCount].distance(v);
+        }
+        return dist;
+    }
+}
@@ -25,20 +25,18 @@ public class Problem1 {
          *
          *     getOrDefault("aa",-1)//key=aa不存在，所以返回默认value -1
          */
+        //bit 1 marks a token of a and bit 2 a token of b, so a token repeated within one input is counted once
         for (int i = 0; i < n; i++) {
-            map.put(a[i], map.getOrDefault(a[i],0) + 1);
-            map.put(b[i], map.getOrDefault(b[i],0) + 1);
+            map.put(a[i], map.getOrDefault(a[i],0) | 1);
+            map.put(b[i], map.getOrDefault(b[i],0) | 2);
         }
 
         int cnt = 0;
 
         for (Map.Entry<String, Integer> entry : map.entrySet()) {
-            String key = entry.getKey();
             Integer value = entry.getValue();
 
-            System.out.println(key+"="+value);
-
-            if (value >= 2) {
+            if (value == 3) {
                 cnt++;
             }
         }
@@ -12,7 +12,7 @@ public class Problem2 {
         private String vertexLabel;//顶点标识
         private List<Edge> adjEdges;//与该顶点邻接的边(点)
         private int dist;//顶点距离(该顶点到起始顶点的距离)
-
+        private Vertex preNode;//最短路径上的前驱顶点
 
         public Vertex(String vertexLabel) {
             this.vertexLabel = vertexLabel;
@@ -117,6 +117,7 @@ public class Problem2 {
             for (Edge e : v.adjEdges) {//扫描v的邻接边(点)
                 if(e.endVertex.dist == Integer.MAX_VALUE){//如果这个顶点(e.endVertex)未被访问(每个顶点只会入队列一次)
                     e.endVertex.dist = v.dist + 1;//更新该顶点到源点的距离
+                    e.endVertex.preNode = v;
                     queue.offer(e.endVertex);
                 }//end if
             }//end for
@@ -128,11 +129,11 @@ public class Problem2 {
         Collection<Vertex> vertexs = nonDirectedGraph.values();
         for (Vertex vertex : vertexs) {
             System.out.print(vertex.vertexLabel);
-            //Vertex tmpPreNode = vertex.preNode;
-//            while(tmpPreNode != null){
-//                System.out.print(tmpPreNode.vertexLabel + "<--");
-//                tmpPreNode = tmpPreNode.preNode;
-//            }
+            Vertex tmpPreNode = vertex.preNode;
+            while(tmpPreNode != null){
+                System.out.print("<--" + tmpPreNode.vertexLabel);
+                tmpPreNode = tmpPreNode.preNode;
+            }
             System.out.println(" distance=" + vertex.dist);
         }
     }
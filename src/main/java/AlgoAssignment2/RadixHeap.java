@@ -0,0 +1,81 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 基数堆: 适用于取出的键单调不减的整数优先队列(Dijkstra)
+ */
+class RadixHeap {
+
+    //Bucket 0 holds the keys equal to last, bucket i > 0 the keys whose highest bit differing from last is bit i - 1
+    private final int[][] bucketVertex = new int[33][];
+    private final int[][] bucketKey = new int[33][];
+    private final int[] bucketSize = new int[33];
+    private int last;// The last key taken out, every key in the heap is at least last
+    private int size;
+
+    RadixHeap() {
+        for (int i = 0; i < 33; i++) {
+            bucketVertex[i] = new int[16];
+            bucketKey[i] = new int[16];
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add v with the given key, which must not be smaller than the last key taken out.
+     * A vertex may be pushed several times, stale entries have to be skipped by the caller.
+     */
+    void push(int v, int key) {
+        add(bucket(key), v, key);
+        size++;
+    }
+
+    /**
+     * Remove the entry with the smallest key; its key is afterwards available from lastKey().
+     * @return the vertex of that entry
+     */
+    int poll() {
+        if (bucketSize[0] == 0) {
+            int i = 1;
+            while (bucketSize[i] == 0) {
+                i++;
+            }
+            //the smallest key of bucket i becomes last, every entry of bucket i moves to a lower bucket
+            int min = Integer.MAX_VALUE;
+            for (int j = 0; j < bucketSize[i]; j++) {
+                min = Math.min(min, bucketKey[i][j]);
+            }
+            last = min;
+            int count = bucketSize[i];
+            bucketSize[i] = 0;
+            for (int j = 0; j < count; j++) {
+                add(bucket(bucketKey[i][j]), bucketVertex[i][j], bucketKey[i][j]);
+            }
+        }
+        size--;
+        return bucketVertex[0][--bucketSize[0]];
+    }
+
+    int lastKey() {
+        return last;
+    }
+
+    private int bucket(int key) {
+        return key == last ? 0 : 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int bucket, int v, int key) {
+        int n = bucketSize[bucket];
+        if (n == bucketVertex[bucket].length) {
+            bucketVertex[bucket] = Arrays.copyOf(bucketVertex[bucket], 2 * n);
+            bucketKey[bucket] = Arrays.copyOf(bucketKey[bucket], 2 * n);
+        }
+        bucketVertex[bucket][n] = v;
+        bucketKey[bucket][n] = key;
+        bucketSize[bucket] = n + 1;
+    }
+}
@@ -0,0 +1,204 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 按缓存局部性重新编号的CsrGraph, 结果仍以原始编号返回
+ */
+public class ReorderedGraph {
+
+    private final CsrGraph graph;
+    private final int[] newId;// newId[original] is the id of the vertex in the reordered graph
+    private final int[] originalId;// originalId[id] is the inverse permutation
+
+    private ReorderedGraph(CsrGraph graph, int[] newId, int[] originalId) {
+        this.graph = graph;
+        this.newId = newId;
+        this.originalId = originalId;
+    }
+
+    /**
+     * Relabel the vertices of the graph so that a search touching a vertex finds its neighbours nearby
+     * in the CSR arrays. The neighbour lists are copied in the new order, the input graph is left untouched.
+     * @param graph the graph in input order
+     * @param order the new order of the vertices
+     * @return the reordered graph with the permutation between the two id spaces
+     */
+    public static ReorderedGraph of(CsrGraph graph, VertexOrder order) {
+        int[] originalId;
+        switch (order) {
+            case DEGREE_DESCENDING:
+                originalId = degreeDescending(graph);
+                break;
+            case BFS:
+                originalId = breadthFirst(graph, false);
+                break;
+            case REVERSE_CUTHILL_MCKEE:
+                originalId = breadthFirst(graph, true);
+                break;
+            default:
+                originalId = new int[graph.vertexCount()];
+                Arrays.setAll(originalId, v -> v);
+        }
+        int n = graph.vertexCount();
+        int[] newId = new int[n];
+        for (int id = 0; id < n; id++) {
+            newId[originalId[id]] = id;
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + graph.degree(originalId[id]);
+        }
+        int[] targets = new int[graph.targets.length];
+        int[] weights = graph.weights == null ? null : new int[targets.length];
+        for (int id = 0; id < n; id++) {
+            int v = originalId[id];
+            int next = offsets[id];
+            for (int i = graph.offsets[v]; i < graph.offsets[v + 1]; i++) {
+                if (weights != null) {
+                    weights[next] = graph.weights[i];
+                }
+                targets[next++] = newId[graph.targets[i]];
+            }
+        }
+        return new ReorderedGraph(new CsrGraph(offsets, targets, weights), newId, originalId);
+    }
+
+    //counting sort of the vertices by degree, largest first, ties keep the input order
+    static int[] degreeDescending(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, graph.degree(v));
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            start[maxDegree - graph.degree(v) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            order[start[maxDegree - graph.degree(v)]++] = v;
+        }
+        return order;
+    }
+
+    /**
+     * Breadth first order of every component. For Cuthill–McKee every component starts at a vertex of
+     * minimum degree, the unvisited neighbours of a vertex are queued by increasing degree and the whole
+     * order is reversed at the end; otherwise every component starts at its highest degree vertex.
+     */
+    private static int[] breadthFirst(CsrGraph graph, boolean cuthillMcKee) {
+        int n = graph.vertexCount();
+        int[] starts = degreeDescending(graph);
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        long[] keys = cuthillMcKee ? new long[maxDegree(graph)] : null;
+        int tail = 0;
+        for (int s = 0; s < n; s++) {
+            int start = starts[cuthillMcKee ? n - 1 - s : s];
+            if (visited[start]) {
+                continue;
+            }
+            visited[start] = true;
+            int head = tail;
+            order[tail++] = start;
+            while (head < tail) {
+                int v = order[head++];
+                int first = tail;
+                for (int i = graph.offsets[v]; i < graph.offsets[v + 1]; i++) {
+                    int w = graph.targets[i];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        order[tail++] = w;
+                    }
+                }
+                if (cuthillMcKee && tail - first > 1) {
+                    //sort the newly queued vertices by degree, the vertex id breaks ties
+                    int count = tail - first;
+                    for (int i = 0; i < count; i++) {
+                        int w = order[first + i];
+                        keys[i] = (long) graph.degree(w) << 32 | w;
+                    }
+                    Arrays.sort(keys, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        order[first + i] = (int) keys[i];
+                    }
+                }
+            }
+        }
+        if (cuthillMcKee) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+        }
+        return order;
+    }
+
+    private static int maxDegree(CsrGraph graph) {
+        int max = 0;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            max = Math.max(max, graph.degree(v));
+        }
+        return max;
+    }
+
+    /**
+     * @return the reordered graph, its vertex ids are not the original ones
+     */
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * @param originalVertex a vertex id of the input graph
+     * @return its id in the reordered graph
+     */
+    public int newId(int originalVertex) {
+        return newId[originalVertex];
+    }
+
+    /**
+     * @param vertex a vertex id of the reordered graph
+     * @return its id in the input graph
+     */
+    public int originalId(int vertex) {
+        return originalId[vertex];
+    }
+
+    /**
+     * Translate a per vertex result of the reordered graph back to the original ids.
+     * @param values values indexed by the ids of the reordered graph
+     * @return the same values indexed by the original ids
+     */
+    public int[] toOriginal(int[] values) {
+        int[] result = new int[values.length];
+        for (int v = 0; v < values.length; v++) {
+            result[v] = values[newId[v]];
+        }
+        return result;
+    }
+
+    /**
+     * Breadth first search on the reordered graph.
+     * @param originalSource the source vertex, as an original id
+     * @return the distance of every vertex to the source indexed by original id, Integer.MAX_VALUE if it can not be reached
+     */
+    public int[] unweightedShortestPath(int originalSource) {
+        return toOriginal(graph.unweightedShortestPath(newId[originalSource]));
+    }
+
+    /**
+     * @param originalSource the source vertex, as an original id
+     * @param originalTarget the target vertex, as an original id
+     * @return the distance between source and target, Integer.MAX_VALUE if they are not connected
+     */
+    public int findShortestPath(int originalSource, int originalTarget) {
+        return graph.findShortestPath(newId[originalSource], newId[originalTarget]);
+    }
+}
@@ -0,0 +1,109 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ * 单源最短路径树: 用int[]记录每个顶点的前驱, 按需还原路径
+ */
+public class ShortestPathTree {
+
+    private final int source;
+    private final int[] dist;
+    private final int[] parent;// The previous vertex on a shortest path from the source, -1 for the source and unreached vertices
+
+    private ShortestPathTree(int source, int[] dist, int[] parent) {
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    /**
+     * Breadth first search from the source which records the vertex each vertex was discovered from.
+     * @param graph the graph
+     * @param source the source vertex
+     * @return the shortest path tree rooted at the source
+     */
+    public static ShortestPathTree build(CsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] dist = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int v = queue[head++];
+            int nextDist = dist[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (dist[w] == Integer.MAX_VALUE) {
+                    dist[w] = nextDist;
+                    parent[w] = v;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /**
+     * @return the distance of the vertex to the source, Integer.MAX_VALUE if it can not be reached
+     */
+    public int distance(int vertex) {
+        return dist[vertex];
+    }
+
+    /**
+     * @return the previous vertex on the path from the source, -1 for the source and unreached vertices
+     */
+    public int parent(int vertex) {
+        return parent[vertex];
+    }
+
+    public boolean isReachable(int vertex) {
+        return dist[vertex] != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Walk the path from the target back to the source, both included, without allocating anything.
+     * Nothing is visited when the target can not be reached.
+     * @param target the target vertex
+     * @param action receives the vertices, target first
+     */
+    public void forEachOnPath(int target, IntConsumer action) {
+        if (!isReachable(target)) {
+            return;
+        }
+        for (int v = target; v != -1; v = parent[v]) {
+            action.accept(v);
+        }
+    }
+
+    /**
+     * Copy the path from the source to the target into a buffer that can be reused for every target.
+     * @param target the target vertex
+     * @param path receives the vertices, source first; it needs distance(target) + 1 slots
+     * @return the number of vertices written, 0 when the target can not be reached
+     */
+    public int copyPath(int target, int[] path) {
+        if (!isReachable(target)) {
+            return 0;
+        }
+        int length = dist[target] + 1;
+        int i = length;
+        for (int v = target; v != -1; v = parent[v]) {
+            path[--i] = v;
+        }
+        return length;
+    }
+}
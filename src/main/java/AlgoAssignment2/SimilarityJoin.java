@@ -0,0 +1,324 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * 集合相似连接: 用前缀过滤和长度过滤找出所有Jaccard相似度不低于阈值的集合对
+ */
+public class SimilarityJoin {
+
+    /**
+     * Receives the similar pairs as they are found, from the threads of the pool.
+     */
+    @FunctionalInterface
+    public interface PairSink {
+        /**
+         * @param first the index of the first set, always smaller than second
+         * @param second the index of the second set
+         * @param similarity their exact Jaccard similarity
+         */
+        void accept(int first, int second, double similarity);
+    }
+
+    //The number of records probed by one fork-join leaf
+    private static final int BLOCK = 256;
+    //Slack on the rounded filter bounds, a looser bound only adds candidates
+    private static final double EPSILON = 1e-9;
+
+    private final double threshold;
+    private final PairSink sink;
+    //records[pos] is a set as increasing token ranks, the records are ordered by size
+    private final int[][] records;
+    private final int[] originalId;// originalId[pos] is the index of the record in the input
+    //Inverted index over the indexing prefixes: the records whose prefix holds rank r are
+    //postings[start[r]] ... postings[start[r + 1] - 1], in increasing position
+    private final int[] start;
+    private final int[] postings;
+
+    /**
+     * The candidate arrays of the records probed by one thread. A record only meets earlier records,
+     * so the workspace of positions below some bound only needs that many slots.
+     */
+    private static class Workspace {
+        final int[] seen;// seen[pos] == epoch once pos is a candidate of the current record
+        final int[] candidates;
+        int epoch;
+
+        Workspace(int records) {
+            seen = new int[records];
+            candidates = new int[records];
+        }
+    }
+
+    /**
+     * All pairs of sets with Jaccard similarity at least the threshold, on the common fork-join pool.
+     * @param sets the sets as token ids, in any order and with any duplicates; the arrays are not modified
+     * @param threshold the minimum similarity, in (0, 1]
+     * @param sink receives every similar pair once, it must be thread safe
+     */
+    public static void join(int[][] sets, double threshold, PairSink sink) {
+        join(sets, threshold, ForkJoinPool.commonPool(), sink);
+    }
+
+    /**
+     * All pairs of sets with Jaccard similarity at least the threshold (AllPairs / PPJoin). The tokens are
+     * ranked from the rarest to the most frequent and the sets are sorted by size. Two sets with similarity
+     * at least t share a token within short prefixes of their ranked tokens, so only the prefixes are indexed
+     * and probed, and sets too small or too large to reach t are never paired. Candidates are verified with
+     * an exact sorted intersection. Blocks of records are probed in parallel and the pairs go straight to
+     * the sink, nothing is collected.
+     * @param sets the sets as token ids, in any order and with any duplicates; the arrays are not modified
+     * @param threshold the minimum similarity, in (0, 1]
+     * @param pool the pool probing the blocks
+     * @param sink receives every similar pair once, it must be thread safe; empty sets are never paired
+     */
+    public static void join(int[][] sets, double threshold, ForkJoinPool pool, PairSink sink) {
+        checkThreshold(threshold);
+        //intern the tokens to dense ids
+        LabelDictionary tokens = new LabelDictionary();
+        int[][] tokenIds = new int[sets.length][];
+        for (int i = 0; i < sets.length; i++) {
+            tokenIds[i] = new int[sets[i].length];
+            for (int j = 0; j < sets[i].length; j++) {
+                tokenIds[i][j] = tokens.intern(sets[i][j]);
+            }
+        }
+        tokens = null;
+        run(new SimilarityJoin(tokenIds, threshold, sink), pool);
+    }
+
+    /**
+     * All pairs of sets of string tokens with Jaccard similarity at least the threshold, on the common
+     * fork-join pool.
+     * @param sets the sets as tokens, in any order and with any duplicates; the arrays are not modified
+     * @param threshold the minimum similarity, in (0, 1]
+     * @param sink receives every similar pair once, it must be thread safe
+     */
+    public static void join(String[][] sets, double threshold, PairSink sink) {
+        join(sets, threshold, ForkJoinPool.commonPool(), sink);
+    }
+
+    /**
+     * All pairs of sets of string tokens with Jaccard similarity at least the threshold, as
+     * {@link #join(int[][], double, ForkJoinPool, PairSink)}. Every distinct token gets a dense id first,
+     * the dictionary is dropped before the probing starts.
+     * @param sets the sets as tokens, in any order and with any duplicates; the arrays are not modified
+     * @param threshold the minimum similarity, in (0, 1]
+     * @param pool the pool probing the blocks
+     * @param sink receives every similar pair once, it must be thread safe; empty sets are never paired
+     */
+    public static void join(String[][] sets, double threshold, ForkJoinPool pool, PairSink sink) {
+        checkThreshold(threshold);
+        //intern the tokens to dense ids in order of first appearance
+        HashMap<String, Integer> tokens = new HashMap<>();
+        int[][] tokenIds = new int[sets.length][];
+        for (int i = 0; i < sets.length; i++) {
+            tokenIds[i] = new int[sets[i].length];
+            for (int j = 0; j < sets[i].length; j++) {
+                Integer id = tokens.putIfAbsent(sets[i][j], tokens.size());
+                tokenIds[i][j] = id == null ? tokens.size() - 1 : id;
+            }
+        }
+        tokens = null;
+        run(new SimilarityJoin(tokenIds, threshold, sink), pool);
+    }
+
+    private static void checkThreshold(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("The threshold must be in (0, 1]: " + threshold);
+        }
+    }
+
+    private static void run(SimilarityJoin join, ForkJoinPool pool) {
+        if (join.records.length > 0) {
+            pool.invoke(join.new ProbeTask(0, join.records.length, null));
+        }
+    }
+
+    //tokenIds holds the sets as dense token ids, the join owns these arrays: they are ranked in place and released
+    private SimilarityJoin(int[][] tokenIds, double threshold, PairSink sink) {
+        this.threshold = threshold;
+        this.sink = sink;
+        int n = tokenIds.length;
+
+        //count the frequencies of the tokens
+        int[] frequency = new int[1024];
+        int tokenCount = 0;
+        for (int[] set : tokenIds) {
+            for (int id : set) {
+                if (id >= frequency.length) {
+                    frequency = Arrays.copyOf(frequency, Math.max(id + 1, 2 * frequency.length));
+                }
+                frequency[id]++;
+                tokenCount = Math.max(tokenCount, id + 1);
+            }
+        }
+        //rank the tokens from the rarest, so that the prefixes hold the most selective tokens
+        long[] byFrequency = new long[tokenCount];
+        for (int id = 0; id < tokenCount; id++) {
+            byFrequency[id] = (long) frequency[id] << 32 | id;
+        }
+        Arrays.sort(byFrequency);
+        int[] rank = new int[tokenCount];
+        for (int r = 0; r < tokenCount; r++) {
+            rank[(int) byFrequency[r]] = r;
+        }
+        frequency = null;
+        byFrequency = null;
+
+        int[][] ranked = new int[n][];
+        int maxSize = 0;
+        for (int i = 0; i < n; i++) {
+            int[] set = tokenIds[i];
+            tokenIds[i] = null;
+            for (int j = 0; j < set.length; j++) {
+                set[j] = rank[set[j]];
+            }
+            ranked[i] = Arrays.copyOf(set, SortedSetJaccard.sortUnique(set));
+            maxSize = Math.max(maxSize, ranked[i].length);
+        }
+
+        //counting sort of the records by size, the input order breaks ties
+        int[] sizeStart = new int[maxSize + 2];
+        for (int[] set : ranked) {
+            sizeStart[set.length + 1]++;
+        }
+        for (int s = 0; s <= maxSize; s++) {
+            sizeStart[s + 1] += sizeStart[s];
+        }
+        records = new int[n][];
+        originalId = new int[n];
+        for (int i = 0; i < n; i++) {
+            int pos = sizeStart[ranked[i].length]++;
+            records[pos] = ranked[i];
+            originalId[pos] = i;
+        }
+
+        //index the prefixes, records[pos] only meets larger records so its prefix can be shorter than the probe one
+        start = new int[tokenCount + 1];
+        for (int[] record : records) {
+            for (int i = 0, p = indexPrefix(record.length); i < p; i++) {
+                start[record[i] + 1]++;
+            }
+        }
+        for (int r = 0; r < tokenCount; r++) {
+            start[r + 1] += start[r];
+        }
+        postings = new int[start[tokenCount]];
+        int[] next = Arrays.copyOf(start, tokenCount);
+        for (int pos = 0; pos < n; pos++) {
+            for (int i = 0, p = indexPrefix(records[pos].length); i < p; i++) {
+                postings[next[records[pos][i]]++] = pos;
+            }
+        }
+    }
+
+    private int indexPrefix(int size) {
+        return size == 0 ? 0 : size - ceil(2 * threshold / (1 + threshold) * size) + 1;
+    }
+
+    private int probePrefix(int size) {
+        return size == 0 ? 0 : size - ceil(threshold * size) + 1;
+    }
+
+    private static int ceil(double value) {
+        return (int) Math.ceil(value - EPSILON);
+    }
+
+    //find every earlier record similar to records[pos]
+    private void probe(int pos, Workspace workspace) {
+        int[] x = records[pos];
+        if (x.length == 0) {
+            return;
+        }
+        if (++workspace.epoch == 0) {
+            Arrays.fill(workspace.seen, 0);
+            workspace.epoch = 1;
+        }
+        int epoch = workspace.epoch;
+        //length filter: a set smaller than t * |x| can not reach the threshold
+        int first = firstWithSize(ceil(threshold * x.length));
+        int count = 0;
+        for (int i = 0, p = probePrefix(x.length); i < p; i++) {
+            int r = x[i];
+            int from = Arrays.binarySearch(postings, start[r], start[r + 1], first);
+            for (int j = from >= 0 ? from : -from - 1; j < start[r + 1]; j++) {
+                int y = postings[j];
+                if (y >= pos) {
+                    break;
+                }
+                if (workspace.seen[y] != epoch) {
+                    workspace.seen[y] = epoch;
+                    workspace.candidates[count++] = y;
+                }
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            int y = workspace.candidates[c];
+            int[] other = records[y];
+            int common = SortedSetJaccard.intersectionSize(x, x.length, other, other.length);
+            double similarity = (double) common / (x.length + other.length - common);
+            if (similarity >= threshold) {
+                int a = originalId[pos], b = originalId[y];
+                sink.accept(Math.min(a, b), Math.max(a, b), similarity);
+            }
+        }
+    }
+
+    //the position of the first record with at least the given size
+    private int firstWithSize(int size) {
+        int low = 0, high = records.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (records[middle].length < size) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Probes the records in [from, to). The workspace is handed down to the subtasks that run on the same
+     * thread; a subtask stolen by another thread starts without one and allocates its own, so there are
+     * only as many workspaces as steals, and all of them are dropped with the join.
+     */
+    private class ProbeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private Workspace workspace;
+
+        ProbeTask(int from, int to, Workspace workspace) {
+            this.from = from;
+            this.to = to;
+            this.workspace = workspace;
+        }
+
+        @Override
+        protected void compute() {
+            if (workspace == null) {
+                workspace = new Workspace(to);
+            }
+            if (to - from <= BLOCK) {
+                for (int pos = from; pos < to; pos++) {
+                    probe(pos, workspace);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            ProbeTask right = new ProbeTask(middle, to, null);
+            right.fork();
+            new ProbeTask(from, middle, workspace).compute();
+            if (right.tryUnfork()) {//nobody stole it, keep using this workspace
+                right.workspace = workspace;
+                right.compute();
+            } else {
+                right.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 精确Jaccard相似度: 集合为升序且无重复的int[]或long[]编号数组
+ */
+public class SortedSetJaccard {
+
+    //When one set is this many times larger, galloping through it beats the linear merge
+    private static final int GALLOP_RATIO = 16;
+
+    /**
+     * @param a a sorted set of ids, without duplicates
+     * @param b a sorted set of ids, without duplicates
+     * @return |a ∩ b| / |a ∪ b|, 1 when both sets are empty
+     */
+    public static double similarity(int[] a, int[] b) {
+        return similarity(a, a.length, b, b.length);
+    }
+
+    /**
+     * @param a a sorted set of ids, without duplicates
+     * @param aLength the number of ids used from a
+     * @param b a sorted set of ids, without duplicates
+     * @param bLength the number of ids used from b
+     * @return |a ∩ b| / |a ∪ b|, 1 when both sets are empty
+     */
+    public static double similarity(int[] a, int aLength, int[] b, int bLength) {
+        if (aLength + bLength == 0) {
+            return 1;
+        }
+        int common = intersectionSize(a, aLength, b, bLength);
+        return (double) common / (aLength + bLength - common);
+    }
+
+    /**
+     * @param a a sorted set of ids, without duplicates
+     * @param b a sorted set of ids, without duplicates
+     * @return |a ∩ b| / |a ∪ b|, 1 when both sets are empty
+     */
+    public static double similarity(long[] a, long[] b) {
+        if (a.length + b.length == 0) {
+            return 1;
+        }
+        int common = intersectionSize(a, a.length, b, b.length);
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * Size of the intersection of two sorted sets: a linear merge when the sizes are comparable, otherwise
+     * every id of the smaller set is searched in the larger one by galloping from the last position found.
+     */
+    public static int intersectionSize(int[] a, int aLength, int[] b, int bLength) {
+        if (aLength > bLength) {
+            return intersectionSize(b, bLength, a, aLength);
+        }
+        int common = 0;
+        if ((long) aLength * GALLOP_RATIO < bLength) {
+            int low = 0;
+            for (int i = 0; i < aLength && low < bLength; i++) {
+                int key = a[i];
+                //double the step until b[low + step] >= key, then binary search the last step
+                int step = 1;
+                while (low + step < bLength && b[low + step] < key) {
+                    low += step;
+                    step <<= 1;
+                }
+                int found = Arrays.binarySearch(b, low, Math.min(bLength, low + step + 1), key);
+                if (found >= 0) {
+                    common++;
+                    low = found + 1;
+                } else {
+                    low = -found - 1;
+                }
+            }
+            return common;
+        }
+        int i = 0, j = 0;
+        while (i < aLength && j < bLength) {
+            int x = a[i], y = b[j];
+            if (x == y) {
+                common++;
+            }
+            //advance both on a match, otherwise only the smaller side
+            i += x <= y ? 1 : 0;
+            j += y <= x ? 1 : 0;
+        }
+        return common;
+    }
+
+    /**
+     * The same intersection for long ids, such as 64-bit token hashes.
+     */
+    public static int intersectionSize(long[] a, int aLength, long[] b, int bLength) {
+        if (aLength > bLength) {
+            return intersectionSize(b, bLength, a, aLength);
+        }
+        int common = 0;
+        if ((long) aLength * GALLOP_RATIO < bLength) {
+            int low = 0;
+            for (int i = 0; i < aLength && low < bLength; i++) {
+                long key = a[i];
+                int step = 1;
+                while (low + step < bLength && b[low + step] < key) {
+                    low += step;
+                    step <<= 1;
+                }
+                int found = Arrays.binarySearch(b, low, Math.min(bLength, low + step + 1), key);
+                if (found >= 0) {
+                    common++;
+                    low = found + 1;
+                } else {
+                    low = -found - 1;
+                }
+            }
+            return common;
+        }
+        int i = 0, j = 0;
+        while (i < aLength && j < bLength) {
+            long x = a[i], y = b[j];
+            if (x == y) {
+                common++;
+            }
+            i += x <= y ? 1 : 0;
+            j += y <= x ? 1 : 0;
+        }
+        return common;
+    }
+
+    /**
+     * Sort the ids and drop the duplicates, turning an arbitrary token list into the form expected above.
+     * @param ids the token ids, the array is sorted in place
+     * @return the number of distinct ids, which are moved to the front of the array
+     */
+    public static int sortUnique(int[] ids) {
+        Arrays.sort(ids);
+        int size = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (size == 0 || ids[i] != ids[size - 1]) {
+                ids[size++] = ids[i];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param ids the token ids, the array is sorted in place
+     * @return the number of distinct ids, which are moved to the front of the array
+     */
+    public static int sortUnique(long[] ids) {
+        Arrays.sort(ids);
+        int size = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (size == 0 || ids[i] != ids[size - 1]) {
+                ids[size++] = ids[i];
+            }
+        }
+        return size;
+    }
+}
@@ -1,11 +1,15 @@
 package AlgoAssignment2;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 
 
 public class TestShortestPath {//hapjin test
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         int[][] adjacentMatrix = {{0,1,1,1,0,0},
                              {1,0,1,0,1,0},
                              {1,1,0,0,0,1},
@@ -33,5 +37,14 @@ public class TestShortestPath {//hapjin test
         NonDirectedGraph graph = new NonDirectedGraph(adjacentMatrix, "0");
         graph.unweightedShortestPath();
         System.out.println(graph.findShortestPath("5"));
+
+        CsrGraph csrGraph = CsrGraph.fromAdjacencyMatrix(adjacentMatrix);
+        System.out.println(csrGraph.unweightedShortestPath(0)[5]);
+        System.out.println(CsrGraph.fromEdgeList(graphContent).findShortestPath(0, 5));
+
+        Path graphFile = Paths.get(graphFilePath);
+        if (Files.exists(graphFile)) {
+            System.out.println(EdgeListLoader.load(graphFile).findShortestPath(0, 5));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 用位图表示的小词表词集合, 交集和并集通过Long.bitCount计算
+ */
+public class TokenBitSet {
+
+    private final int vocabularySize;
+    private final long[] words;// Token t is bit t % 64 of words[t / 64]
+
+    /**
+     * @param vocabularySize the number of distinct tokens, every token must be smaller than it
+     */
+    public TokenBitSet(int vocabularySize) {
+        if (vocabularySize <= 0) {
+            throw new IllegalArgumentException("The vocabulary size must be positive: " + vocabularySize);
+        }
+        this.vocabularySize = vocabularySize;
+        words = new long[wordCount(vocabularySize)];
+    }
+
+    /**
+     * @param vocabularySize the number of distinct tokens
+     * @param tokens the tokens of the set, duplicates are ignored
+     * @return the set
+     */
+    public static TokenBitSet of(int vocabularySize, int... tokens) {
+        TokenBitSet set = new TokenBitSet(vocabularySize);
+        for (int token : tokens) {
+            set.add(token);
+        }
+        return set;
+    }
+
+    //the number of longs holding a set over the vocabulary
+    static int wordCount(int vocabularySize) {
+        return (vocabularySize + 63) >>> 6;
+    }
+
+    public int vocabularySize() {
+        return vocabularySize;
+    }
+
+    /**
+     * @param token a token of the vocabulary
+     * @throws IllegalArgumentException if the token is not in [0, vocabularySize)
+     */
+    public void add(int token) {
+        checkToken(token);
+        words[token >>> 6] |= 1L << token;
+    }
+
+    /**
+     * @param token a token of the vocabulary
+     * @throws IllegalArgumentException if the token is not in [0, vocabularySize)
+     */
+    public boolean contains(int token) {
+        checkToken(token);
+        return (words[token >>> 6] & 1L << token) != 0;
+    }
+
+    private void checkToken(int token) {
+        if (token < 0 || token >= vocabularySize) {
+            throw new IllegalArgumentException("Token " + token + " outside the vocabulary of " + vocabularySize);
+        }
+    }
+
+    /**
+     * @return the number of tokens of the set
+     */
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    public int intersectionSize(TokenBitSet other) {
+        checkVocabulary(other);
+        int common = 0;
+        for (int i = 0; i < words.length; i++) {
+            common += Long.bitCount(words[i] & other.words[i]);
+        }
+        return common;
+    }
+
+    public int unionSize(TokenBitSet other) {
+        checkVocabulary(other);
+        int union = 0;
+        for (int i = 0; i < words.length; i++) {
+            union += Long.bitCount(words[i] | other.words[i]);
+        }
+        return union;
+    }
+
+    /**
+     * @param other a set over the same vocabulary
+     * @return the Jaccard similarity of the two sets, 1 when both are empty
+     */
+    public double similarity(TokenBitSet other) {
+        checkVocabulary(other);
+        int common = 0, union = 0;
+        for (int i = 0; i < words.length; i++) {
+            common += Long.bitCount(words[i] & other.words[i]);
+            union += Long.bitCount(words[i] | other.words[i]);
+        }
+        return union == 0 ? 1 : (double) common / union;
+    }
+
+    //the words of the set, read by TokenSetBlock
+    long[] words() {
+        return words;
+    }
+
+    private void checkVocabulary(TokenBitSet other) {
+        if (other.vocabularySize != vocabularySize) {
+            throw new IllegalArgumentException("Sets over different vocabularies: " + vocabularySize + ", " + other.vocabularySize);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TokenBitSet && vocabularySize == ((TokenBitSet) o).vocabularySize
+                && Arrays.equals(words, ((TokenBitSet) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * vocabularySize + Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,100 @@
+package AlgoAssignment2;
+
+import java.util.Arrays;
+
+/*
+ * 连续存放在一个long[]中的一批位图词集合, 用于一个查询对多个候选集合的批量打分
+ */
+public class TokenSetBlock {
+
+    private final int vocabularySize;
+    private final int stride;// The number of words of every set
+    private long[] words;// Set s is words[s * stride] ... words[s * stride + stride - 1]
+    private int[] sizes;// The number of tokens of every set, so a score needs one bitCount per word
+    private int count;
+
+    /**
+     * @param vocabularySize the number of distinct tokens of the sets
+     */
+    public TokenSetBlock(int vocabularySize) {
+        this(vocabularySize, 16);
+    }
+
+    /**
+     * @param vocabularySize the number of distinct tokens of the sets
+     * @param expectedSets the number of sets expected, to size the block once
+     */
+    public TokenSetBlock(int vocabularySize, int expectedSets) {
+        if (vocabularySize <= 0) {
+            throw new IllegalArgumentException("The vocabulary size must be positive: " + vocabularySize);
+        }
+        this.vocabularySize = vocabularySize;
+        stride = TokenBitSet.wordCount(vocabularySize);
+        words = new long[Math.max(1, expectedSets) * stride];
+        sizes = new int[Math.max(1, expectedSets)];
+    }
+
+    /**
+     * @param set a set over the vocabulary of the block, copied into the block
+     * @return the index of the set in the block
+     */
+    public int add(TokenBitSet set) {
+        if (set.vocabularySize() != vocabularySize) {
+            throw new IllegalArgumentException("Set over a vocabulary of " + set.vocabularySize() + ", the block has " + vocabularySize);
+        }
+        long[] setWords = set.words();
+        if (count == sizes.length) {
+            words = Arrays.copyOf(words, 2 * words.length);
+            sizes = Arrays.copyOf(sizes, 2 * sizes.length);
+        }
+        System.arraycopy(setWords, 0, words, count * stride, stride);
+        sizes[count] = set.size();
+        return count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Score the query against every set of the block in one pass over the contiguous words.
+     * @param query a set over the vocabulary of the block
+     * @param scores receives the Jaccard similarity of the query with set s in scores[s], 1 when both are empty
+     */
+    public void score(TokenBitSet query, double[] scores) {
+        if (query.vocabularySize() != vocabularySize) {
+            throw new IllegalArgumentException("Query over a vocabulary of " + query.vocabularySize() + ", the block has " + vocabularySize);
+        }
+        long[] q = query.words();
+        if (scores.length < count) {
+            throw new IllegalArgumentException("Room for " + scores.length + " scores, the block has " + count + " sets");
+        }
+        int querySize = query.size();
+        for (int s = 0, base = 0; s < count; s++, base += stride) {
+            int common = 0;
+            for (int i = 0; i < stride; i++) {
+                common += Long.bitCount(q[i] & words[base + i]);
+            }
+            int union = querySize + sizes[s] - common;
+            scores[s] = union == 0 ? 1 : (double) common / union;
+        }
+    }
+
+    /**
+     * @param query a set over the vocabulary of the block
+     * @param threshold the minimum similarity
+     * @return the indexes of the sets whose similarity with the query is at least the threshold, in increasing order
+     */
+    public int[] select(TokenBitSet query, double threshold) {
+        double[] scores = new double[count];
+        score(query, scores);
+        int[] selected = new int[count];
+        int found = 0;
+        for (int s = 0; s < count; s++) {
+            if (scores[s] >= threshold) {
+                selected[found++] = s;
+            }
+        }
+        return Arrays.copyOf(selected, found);
+    }
+}
@@ -0,0 +1,60 @@
+package AlgoAssignment2;
+
+/*
+ * 基于int数组的并查集, 按大小合并并做路径减半
+ */
+public class UnionFind {
+
+    private final int[] parent;
+    private final int[] size;// Only meaningful for roots
+    private int setCount;
+
+    public UnionFind(int elementCount) {
+        parent = new int[elementCount];
+        size = new int[elementCount];
+        for (int i = 0; i < elementCount; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        setCount = elementCount;
+    }
+
+    /**
+     * @return the root of the set of x; every visited element is moved to its grandparent on the way
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merge the sets of x and y, the smaller set is hung below the root of the larger one.
+     * @return false if x and y were already in the same set
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x), rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        if (size[rootX] < size[rootY]) {
+            int swap = rootX;
+            rootX = rootY;
+            rootY = swap;
+        }
+        parent[rootY] = rootX;
+        size[rootX] += size[rootY];
+        setCount--;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    public int setCount() {
+        return setCount;
+    }
+}
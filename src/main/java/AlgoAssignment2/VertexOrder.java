@@ -0,0 +1,11 @@
+package AlgoAssignment2;
+
+/*
+ * 提高缓存局部性的顶点重新编号方式
+ */
+public enum VertexOrder {
+    INPUT,// Keep the ids of the input
+    DEGREE_DESCENDING,// High degree vertices first, they are touched by most searches
+    BFS,// Breadth first order from the highest degree vertex of every component
+    REVERSE_CUTHILL_MCKEE// Reverse Cuthill–McKee, keeps the neighbours of a vertex close to its own id
+}